@@ -0,0 +1,60 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 방의 이동 처리 경로: 장애물 조회와 공유 위치 갱신
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameRoomBenchmark {
+
+    private GameRoom room;
+    private int moveX;
+    private int moveY;
+    private boolean forward = true;
+
+    @Setup
+    public void setUp() {
+        room = new GameRoom("benchmark", new MazeGenerator().generateMaze(42L));
+        // 시작점(0,0)에서 막히지 않은 방향으로 왕복한다 (막힌 이동은 로그를 남기므로 피함)
+        if (!room.isObstacleAt(1, 0)) {
+            moveX = 1;
+        } else {
+            moveY = 1;
+        }
+    }
+
+    @Benchmark
+    public boolean isObstacleAt() {
+        return room.isObstacleAt(15, 10);
+    }
+
+    // 그리드 전체 셀 조회
+    @Benchmark
+    public void isObstacleAtFullScan(Blackhole blackhole) {
+        MazeGrid maze = room.getMaze();
+        for (int y = 0; y < maze.getRows(); y++) {
+            for (int x = 0; x < maze.getColumns(); x++) {
+                blackhole.consume(room.isObstacleAt(x, y));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean updateSharedPosition() {
+        boolean moved = forward
+            ? room.updateSharedPosition(moveX, moveY)
+            : room.updateSharedPosition(-moveX, -moveY);
+        forward = !forward;
+        return moved;
+    }
+}
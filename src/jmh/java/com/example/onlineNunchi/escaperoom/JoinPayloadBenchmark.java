@@ -0,0 +1,52 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// JOIN 메시지 직렬화 비용: 매번 장애물 목록을 직렬화 vs 방에 캐시된 장애물 JSON 삽입
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinPayloadBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameRoom room;
+
+    @Setup
+    public void setUp() {
+        room = new GameRoom("benchmark", new MazeGenerator().generateMaze(42L));
+    }
+
+    @Benchmark
+    public String uncachedJoin() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "type", "JOIN",
+            "roomId", room.getRoomId(),
+            "playerId", "session",
+            "playerCount", 1,
+            "obstacles", room.getObstacles()
+        ));
+    }
+
+    @Benchmark
+    public String cachedJoin() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "type", "JOIN",
+            "roomId", room.getRoomId(),
+            "playerId", "session",
+            "playerCount", 1,
+            "obstacles", room.getObstaclesJson()
+        ));
+    }
+}
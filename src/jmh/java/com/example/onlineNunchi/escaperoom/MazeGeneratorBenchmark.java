@@ -0,0 +1,29 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// 그리드 크기별 미로 생성 시간 (정사각형 size x size)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MazeGeneratorBenchmark {
+
+    @Param({"31", "101", "501", "1001"})
+    private int size;
+
+    private final MazeGenerator mazeGenerator = new MazeGenerator();
+    private long seed;
+
+    @Benchmark
+    public MazeGrid generate() {
+        return mazeGenerator.generateMaze(seed++, size, size);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 장애물 조회: 기존 List<Map> 스트림 스캔 vs MazeGrid 비트셋 조회
+// 한 번의 호출이 그리드 전체 셀(21x31)을 조회한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MazeGridBenchmark {
+
+    private MazeGrid maze;
+    private List<Map<String, Object>> obstacles;
+
+    @Setup
+    public void setUp() {
+        maze = new MazeGenerator().generateMaze(42L);
+        obstacles = maze.toObstacles();
+    }
+
+    @Benchmark
+    public void streamScan(Blackhole blackhole) {
+        for (int y = 0; y < maze.getRows(); y++) {
+            for (int x = 0; x < maze.getColumns(); x++) {
+                final int cx = x;
+                final int cy = y;
+                blackhole.consume(obstacles.stream()
+                    .anyMatch(obstacle ->
+                        (int) obstacle.get("x") == cx &&
+                        (int) obstacle.get("y") == cy
+                    ));
+            }
+        }
+    }
+
+    @Benchmark
+    public void bitsetLookup(Blackhole blackhole) {
+        for (int y = 0; y < maze.getRows(); y++) {
+            for (int x = 0; x < maze.getColumns(); x++) {
+                blackhole.consume(maze.isWall(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// 기본 크기(31x21) 미로를 고정 시드로 생성, 시드마다 재시도 횟수가 달라 시간이 달라질 수 있다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MazeSeedBenchmark {
+
+    @Param({"1", "42", "20241018"})
+    private long seed;
+
+    private final MazeGenerator mazeGenerator = new MazeGenerator();
+
+    @Benchmark
+    public MazeGrid generate() {
+        return mazeGenerator.generateMaze(seed);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+// JSON 처리 비용: 기존 Map 방식 vs MessageCodec (스트리밍 파싱 + 타입별 ObjectWriter)
+// MOVE 는 클라이언트 -> 서버 파싱, JOIN 과 POSITION_UPDATE 는 서버 -> 클라이언트 직렬화가 주 경로다.
+// 할당량 비교는 -prof gc 로 실행한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageCodecBenchmark {
+
+    private static final String MOVE = "{\"type\":\"MOVE\",\"position\":{\"x\":1,\"y\":0}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameRoom room;
+    private RawValue obstaclesJson;
+    private String join;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        room = new GameRoom("benchmark", new MazeGenerator().generateMaze(42L));
+        obstaclesJson = new RawValue(room.getMaze().getObstaclesJson());
+        join = serializeJoin();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> parseMove() throws JsonProcessingException {
+        return objectMapper.readValue(MOVE, Map.class);
+    }
+
+    @Benchmark
+    public GameMessage parseMoveStreaming() throws IOException {
+        return MessageCodec.read(MOVE);
+    }
+
+    @Benchmark
+    public String serializeMove() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "type", "MOVE",
+            "position", Map.of("x", 1, "y", 0)
+        ));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> parseJoin() throws JsonProcessingException {
+        return objectMapper.readValue(join, Map.class);
+    }
+
+    @Benchmark
+    public String serializeJoin() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "type", "JOIN",
+            "roomId", room.getRoomId(),
+            "seq", 1L,
+            "playerId", "session",
+            "playerCount", 1,
+            "position", room.getSharedPosition(),
+            "obstacles", obstaclesJson
+        ));
+    }
+
+    @Benchmark
+    public String writeJoin() {
+        return MessageCodec.write(new GameMessage.Join(room.getRoomId(), 1L, "session", 1,
+            new GameMessage.Position(0, 0), 16, obstaclesJson));
+    }
+
+    @Benchmark
+    public String writePositionUpdate() {
+        return MessageCodec.write(new GameMessage.PositionUpdate(room.getRoomId(), 1L, new GameMessage.Position(0, 0),
+            16));
+    }
+
+    @Benchmark
+    public String serializePositionUpdate() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "type", "POSITION_UPDATE",
+            "roomId", room.getRoomId(),
+            "seq", 1L,
+            "position", room.getSharedPosition()
+        ));
+    }
+}
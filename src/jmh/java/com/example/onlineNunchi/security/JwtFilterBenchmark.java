@@ -0,0 +1,98 @@
+package com.example.onlineNunchi.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+
+// JWT 필터 처리량: 기존 방식(요청마다 키/파서 생성 + 3회 파싱) vs 단일 파싱 vs 검증 캐시 적중
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private final FilterChain filterChain = (request, response) -> { };
+    private UserDetailsService userDetailsService;
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername("player").password("password").authorities(List.of()).build();
+        userDetailsService = username -> user;
+
+        jwtUtil = new JwtUtil(userDetailsService);
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 3600L);
+        jwtUtil.init();
+        token = jwtUtil.generateAccessToken(user, Map.of());
+
+        parser = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .build();
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        request = new MockHttpServletRequest("GET", "/api/status");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    // 변경 전 필터: extractUsername, validateToken, isTokenExpired 가 각각 키와 파서를 새로 만들어 파싱
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyParse(token).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        boolean valid = legacyParse(token).getSubject().equals(userDetails.getUsername())
+            && !legacyParse(token).getExpiration().before(new Date());
+        SecurityContextHolder.clearContext();
+        return valid;
+    }
+
+    // 캐시 미스 한 번에 해당: 미리 만든 파서로 한 번만 파싱
+    @Benchmark
+    public Claims singleParse() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // 변경 후 필터: 같은 토큰은 검증 캐시에서 바로 꺼낸다
+    @Benchmark
+    public Object cachedFilter() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.onlineNunchi.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// JwtUtil 토큰 발급과 검증
+// 캐시 미스 경로는 캐시 크기를 1 로 줄인 인스턴스에 서로 다른 토큰을 돌려가며 넣어 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private UserDetails user;
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        user = User.withUsername("player").password("password").authorities(List.of()).build();
+        jwtUtil = newJwtUtil(10_000);
+        uncachedJwtUtil = newJwtUtil(1);
+        token = jwtUtil.generateAccessToken(user, Map.of());
+
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtil.generateAccessToken(user, Map.of("nonce", Integer.toString(i)));
+        }
+    }
+
+    private JwtUtil newJwtUtil(long cacheMaximumSize) {
+        JwtUtil util = new JwtUtil(username -> user);
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "accessTokenExpiration", 3600L);
+        ReflectionTestUtils.setField(util, "refreshTokenExpiration", 86400L);
+        ReflectionTestUtils.setField(util, "cacheMaximumSize", cacheMaximumSize);
+        util.init();
+        return util;
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(user, Map.of());
+    }
+
+    @Benchmark
+    public Boolean validateCached() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Boolean validateUncached() {
+        String current = tokens[next];
+        next = (next + 1) % tokens.length;
+        return uncachedJwtUtil.validateToken(current, user);
+    }
+}
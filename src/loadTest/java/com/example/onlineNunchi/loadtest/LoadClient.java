@@ -0,0 +1,184 @@
+package com.example.onlineNunchi.loadtest;
+
+import java.net.URI;
+import java.util.BitSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 부하 테스트용 가상 플레이어 하나
+// JOIN 으로 받은 장애물로 현재 위치에서 갈 수 있는 방향만 골라 MOVE 를 보내고,
+// MOVE 를 보낸 뒤 처음 받은 POSITION_UPDATE 까지의 시간을 이동 지연으로 기록한다.
+// 같은 방의 다른 플레이어가 먼저 움직이면 그 갱신이 먼저 도착할 수 있으므로 "MOVE -> 다음 POSITION_UPDATE" 기준이다.
+final class LoadClient extends TextWebSocketHandler {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int[][] DIRECTIONS = {{0, -1}, {-1, 0}, {0, 1}, {1, 0}};
+    private static final TextMessage[] MOVES = {
+        move(0, -1), move(-1, 0), move(0, 1), move(1, 0)
+    };
+    // 이 시간 안에 갱신이 오지 않은 MOVE 는 (다른 플레이어 이동으로 막힌 것으로 보고) 응답 없음으로 센다
+    private static final long MOVE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadTestMetrics metrics;
+    private volatile WebSocketSession session;
+    private volatile long connectStartNanos;
+    private volatile boolean joined;
+    private volatile BitSet walls = new BitSet();
+    private volatile int width;
+    private volatile int height;
+    private volatile int positionX;
+    private volatile int positionY;
+    private final AtomicLong pendingMoveNanos = new AtomicLong();
+    private ScheduledFuture<?> moveTask;
+
+    LoadClient(LoadTestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static TextMessage move(int x, int y) {
+        return new TextMessage("{\"type\":\"MOVE\",\"position\":{\"x\":" + x + ",\"y\":" + y + "}}");
+    }
+
+    void connect(WebSocketClient client, URI uri) {
+        connectStartNanos = System.nanoTime();
+        client.execute(this, null, uri).whenComplete((connected, error) -> {
+            if (error != null) {
+                metrics.connectFailed();
+            }
+        });
+    }
+
+    void startMoving(ScheduledExecutorService scheduler, double rateHz) {
+        long periodMicros = Math.max(1, (long) (TimeUnit.SECONDS.toMicros(1) / rateHz));
+        long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+        moveTask = scheduler.scheduleAtFixedRate(this::sendMove, initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+    }
+
+    void stop() {
+        if (moveTask != null) {
+            moveTask.cancel(false);
+        }
+        WebSocketSession current = session;
+        if (current != null && current.isOpen()) {
+            try {
+                current.close(CloseStatus.NORMAL);
+            } catch (Exception ignored) {
+                // 종료 단계이므로 무시
+            }
+        }
+    }
+
+    boolean isJoined() {
+        return joined;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // 수신 스레드와 이동 스케줄러가 동시에 보낼 수 있으므로 전송을 직렬화
+        this.session = new ConcurrentWebSocketSessionDecorator(session, 5000, 64 * 1024);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        long now = System.nanoTime();
+        metrics.messageReceived();
+        JsonNode data = objectMapper.readTree(message.getPayload());
+        String type = data.path("type").asText();
+        if ("JOIN".equals(type) && !joined && data.has("obstacles")) {
+            // 장애물 목록이 있는 JOIN 은 내 입장 응답
+            loadMaze(data.get("obstacles"));
+            updatePosition(data.get("position"));
+            joined = true;
+            metrics.joined(now - connectStartNanos);
+        } else if ("POSITION_UPDATE".equals(type)) {
+            updatePosition(data.get("position"));
+            long sent = pendingMoveNanos.getAndSet(0);
+            if (sent != 0) {
+                metrics.moveAnswered(now - sent);
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        if (moveTask != null && !moveTask.isCancelled()) {
+            metrics.closedEarly();
+            moveTask.cancel(false);
+        }
+    }
+
+    private void sendMove() {
+        WebSocketSession current = session;
+        if (!joined || current == null || !current.isOpen()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long pending = pendingMoveNanos.get();
+        if (pending != 0 && now - pending > MOVE_TIMEOUT_NANOS && pendingMoveNanos.compareAndSet(pending, 0)) {
+            metrics.moveUnanswered();
+        }
+
+        int direction = pickDirection();
+        if (direction < 0) {
+            return;
+        }
+        // 응답을 기다리는 MOVE 가 없을 때만 지연 측정 시작 시각을 남긴다
+        pendingMoveNanos.compareAndSet(0, now);
+        try {
+            current.sendMessage(MOVES[direction]);
+            metrics.moveSent();
+        } catch (Exception e) {
+            metrics.sendFailed();
+        }
+    }
+
+    private int pickDirection() {
+        int start = ThreadLocalRandom.current().nextInt(DIRECTIONS.length);
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            int direction = (start + i) % DIRECTIONS.length;
+            int x = positionX + DIRECTIONS[direction][0];
+            int y = positionY + DIRECTIONS[direction][1];
+            if (x >= 0 && y >= 0 && x < width && y < height && !walls.get(y * width + x)) {
+                return direction;
+            }
+        }
+        return -1;
+    }
+
+    // JOIN 에는 미로 크기가 없으므로 장애물 좌표의 최댓값으로 크기를 잡는다
+    private void loadMaze(JsonNode obstacles) {
+        int maxX = 0;
+        int maxY = 0;
+        for (JsonNode obstacle : obstacles) {
+            maxX = Math.max(maxX, obstacle.path("x").asInt());
+            maxY = Math.max(maxY, obstacle.path("y").asInt());
+        }
+        int mazeWidth = maxX + 1;
+        BitSet mazeWalls = new BitSet(mazeWidth * (maxY + 1));
+        for (JsonNode obstacle : obstacles) {
+            mazeWalls.set(obstacle.path("y").asInt() * mazeWidth + obstacle.path("x").asInt());
+        }
+        walls = mazeWalls;
+        width = mazeWidth;
+        height = maxY + 1;
+    }
+
+    private void updatePosition(JsonNode position) {
+        if (position != null) {
+            positionX = position.path("x").asInt();
+            positionY = position.path("y").asInt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.onlineNunchi.loadtest;
+
+import java.nio.file.Path;
+
+// 부하 테스트 설정, gradle -P 옵션이 loadtest.* 시스템 프로퍼티로 전달된다
+// url 을 지정하지 않으면 애플리케이션을 같은 프로세스에서 띄워 그 서버를 대상으로 한다.
+record LoadTestConfig(
+    int clients,
+    double moveRateHz,
+    int durationSeconds,
+    int rampUpSeconds,
+    String url,
+    Path report,
+    String version
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            Integer.getInteger("loadtest.clients", 1000),
+            Double.parseDouble(System.getProperty("loadtest.moveRateHz", "10")),
+            Integer.getInteger("loadtest.durationSeconds", 60),
+            Integer.getInteger("loadtest.rampUpSeconds", 10),
+            System.getProperty("loadtest.url"),
+            Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/loadtest-report.json")),
+            System.getProperty("loadtest.version", "unknown")
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.onlineNunchi.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// 모든 가상 플레이어가 공유하는 측정값, 지연은 마이크로초 단위 HdrHistogram 에 기록
+final class LoadTestMetrics {
+    private final Histogram joinLatency = new ConcurrentHistogram(3);
+    private final Histogram moveLatency = new ConcurrentHistogram(3);
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder closedEarly = new LongAdder();
+    private final LongAdder movesSent = new LongAdder();
+    private final LongAdder movesUnanswered = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+
+    void joined(long latencyNanos) {
+        joins.increment();
+        joinLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void moveAnswered(long latencyNanos) {
+        moveLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void moveUnanswered() {
+        movesUnanswered.increment();
+    }
+
+    void moveSent() {
+        movesSent.increment();
+    }
+
+    void sendFailed() {
+        sendFailures.increment();
+    }
+
+    void messageReceived() {
+        messagesReceived.increment();
+    }
+
+    void connectFailed() {
+        connectFailures.increment();
+    }
+
+    void closedEarly() {
+        closedEarly.increment();
+    }
+
+    long getJoins() {
+        return joins.sum();
+    }
+
+    long getConnectFailures() {
+        return connectFailures.sum();
+    }
+
+    // 램프업 동안의 이동 측정값은 버리고 본 측정 구간만 남긴다
+    void resetMoves() {
+        moveLatency.reset();
+        movesSent.reset();
+        movesUnanswered.reset();
+        sendFailures.reset();
+        messagesReceived.reset();
+    }
+
+    Map<String, Object> connections(int requested) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requested", requested);
+        result.put("joined", joins.sum());
+        result.put("failed", connectFailures.sum());
+        result.put("closedEarly", closedEarly.sum());
+        return result;
+    }
+
+    Map<String, Object> joinLatency() {
+        return percentiles(joinLatency);
+    }
+
+    Map<String, Object> moveLatency() {
+        return percentiles(moveLatency);
+    }
+
+    Map<String, Object> throughput(double seconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("movesSent", movesSent.sum());
+        result.put("movesAnswered", moveLatency.getTotalCount());
+        result.put("movesUnanswered", movesUnanswered.sum());
+        result.put("sendFailures", sendFailures.sum());
+        result.put("messagesReceived", messagesReceived.sum());
+        result.put("movesSentPerSecond", round(movesSent.sum() / seconds));
+        result.put("messagesReceivedPerSecond", round(messagesReceived.sum() / seconds));
+        return result;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", histogram.getTotalCount());
+        result.put("p50", millis(histogram.getValueAtPercentile(50)));
+        result.put("p99", millis(histogram.getValueAtPercentile(99)));
+        result.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        result.put("max", millis(histogram.getMaxValue()));
+        return result;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
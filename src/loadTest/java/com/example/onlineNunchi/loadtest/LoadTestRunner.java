@@ -0,0 +1,159 @@
+package com.example.onlineNunchi.loadtest;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+
+import com.example.onlineNunchi.OnlineNunchiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// 웹소켓 부하 테스트, 실행: ./gradlew loadTest -Pclients=1000 -PmoveRateHz=10 -PdurationSeconds=60
+// 가상 플레이어를 램프업 구간에 나눠 접속시키고, 본 측정 구간 동안 MOVE 를 보내며 지연과 처리량을 잰다.
+// 결과는 버전 간 비교(diff)할 수 있도록 키 순서가 고정된 JSON 으로 남긴다.
+public final class LoadTestRunner {
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        int exitCode = 0;
+        try {
+            URI target;
+            if (config.url() != null) {
+                target = URI.create(config.url());
+            } else {
+                application = startApplication();
+                String port = application.getEnvironment().getProperty("local.server.port");
+                target = URI.create("ws://localhost:" + port + "/ws");
+            }
+            Map<String, Object> report = run(config, target, application != null);
+            writeReport(config, report);
+        } catch (Exception e) {
+            log.error("부하 테스트 실패: {}", e.getMessage(), e);
+            exitCode = 1;
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    // 명령줄 인자로 넘겨 application.properties 의 DB 설정보다 우선하게 한다
+    private static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(OnlineNunchiApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--jwt.secret=loadtest-secret-loadtest-secret-loadtest-secret",
+            "--jwt.access-token.expiration=3600",
+            "--jwt.refresh-token.expiration=86400",
+            // 메시지마다 남기는 INFO 로그가 측정을 왜곡하지 않도록
+            "--logging.level.com.example.onlineNunchi=WARN",
+            "--logging.level.com.example.onlineNunchi.loadtest=INFO"
+        );
+    }
+
+    private static Map<String, Object> run(LoadTestConfig config, URI target, boolean inProcess)
+            throws InterruptedException {
+        log.info("부하 테스트 시작: 대상={}, 클라이언트={}, MOVE {}Hz, 측정 {}초", target, config.clients(),
+            config.moveRateHz(), config.durationSeconds());
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+        List<LoadClient> clients = new ArrayList<>(config.clients());
+
+        try {
+            // 램프업: 접속을 구간 전체에 고르게 나눈다
+            long rampUpNanos = TimeUnit.SECONDS.toNanos(config.rampUpSeconds());
+            long rampStart = System.nanoTime();
+            for (int i = 0; i < config.clients(); i++) {
+                long due = rampStart + rampUpNanos * i / Math.max(1, config.clients());
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                LoadClient client = new LoadClient(metrics);
+                clients.add(client);
+                client.connect(webSocketClient, target);
+            }
+            awaitJoins(config, metrics);
+            log.info("입장 완료: {}/{} (실패 {})", metrics.getJoins(), config.clients(), metrics.getConnectFailures());
+
+            metrics.resetMoves();
+            for (LoadClient client : clients) {
+                if (client.isJoined()) {
+                    client.startMoving(scheduler, config.moveRateHz());
+                }
+            }
+            long measureStart = System.nanoTime();
+            TimeUnit.SECONDS.sleep(config.durationSeconds());
+            double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+            return buildReport(config, target, inProcess, metrics, measuredSeconds);
+        } finally {
+            clients.forEach(LoadClient::stop);
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 모든 클라이언트가 입장하거나 실패할 때까지, 최대 30초 대기
+    private static void awaitJoins(LoadTestConfig config, LoadTestMetrics metrics) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (metrics.getJoins() + metrics.getConnectFailures() < config.clients() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static Map<String, Object> buildReport(LoadTestConfig config, URI target, boolean inProcess,
+                                                   LoadTestMetrics metrics, double measuredSeconds) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", config.clients());
+        settings.put("moveRateHz", config.moveRateHz());
+        settings.put("durationSeconds", config.durationSeconds());
+        settings.put("rampUpSeconds", config.rampUpSeconds());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("version", config.version());
+        report.put("timestamp", Instant.now().toString());
+        report.put("target", target.toString());
+        report.put("inProcess", inProcess);
+        report.put("config", settings);
+        report.put("measuredSeconds", Math.round(measuredSeconds * 1000) / 1000.0);
+        report.put("connections", metrics.connections(config.clients()));
+        report.put("joinLatencyMs", metrics.joinLatency());
+        report.put("moveLatencyMs", metrics.moveLatency());
+        report.put("throughput", metrics.throughput(measuredSeconds));
+        return report;
+    }
+
+    private static void writeReport(LoadTestConfig config, Map<String, Object> report) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (config.report().getParent() != null) {
+            Files.createDirectories(config.report().getParent());
+        }
+        objectMapper.writeValue(config.report().toFile(), report);
+        log.info("부하 테스트 결과: {}\n{}", config.report().toAbsolutePath(), objectMapper.writeValueAsString(report));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.onlineNunchi.cluster;
+
+import java.util.function.Consumer;
+
+// 노드 간 메시지 버스
+// 기본 구현은 같은 JVM 안에서만 전달하는 LoopbackClusterBus 이고 (ClusterConfig),
+// 여러 인스턴스를 띄울 때는 Redis pub/sub 등으로 구현한 빈으로 교체한다.
+public interface ClusterBus {
+
+    void register(String nodeId, Consumer<ClusterMessage> listener);
+
+    void unregister(String nodeId);
+
+    void send(String nodeId, ClusterMessage message);
+
+    // 보낸 노드를 제외한 모든 노드에 전달
+    void broadcast(String fromNodeId, ClusterMessage message);
+}
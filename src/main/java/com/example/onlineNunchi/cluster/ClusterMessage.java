@@ -0,0 +1,43 @@
+package com.example.onlineNunchi.cluster;
+
+import java.util.List;
+
+// 노드 간 메시지 버스로 오가는 메시지
+// Relay* 는 접속 노드 -> 방 소유 노드, Deliver*/Close 는 방 소유 노드 -> 접속 노드 방향이다.
+public sealed interface ClusterMessage {
+
+    // principalName 은 핸드셰이크에서 인증된 사용자 이름, 익명 접속이면 null
+    record RelayJoin(String originNodeId, String sessionId, String roomId, String acceptedProtocol,
+                     String principalName)
+        implements ClusterMessage {
+    }
+
+    record RelayText(String sessionId, String payload) implements ClusterMessage {
+    }
+
+    record RelayBinary(String sessionId, byte[] payload) implements ClusterMessage {
+    }
+
+    record RelayLeave(String sessionId) implements ClusterMessage {
+    }
+
+    record DeliverText(String sessionId, String payload) implements ClusterMessage {
+    }
+
+    record DeliverBinary(String sessionId, byte[] payload) implements ClusterMessage {
+    }
+
+    record Close(String sessionId, int code, String reason) implements ClusterMessage {
+    }
+
+    // 각 노드가 주기적으로 알리는 방 현황 (/api/status, /api/rooms 집계용)
+    // roomsVersion 은 그 노드의 방 목록 버전으로 /api/rooms ETag 계산에 쓴다.
+    // rooms 는 목록이 바뀌었을 때와 주기적으로만 싣고, 그 외에는 null (받는 쪽이 같은 버전의 이전 목록을 이어 쓴다).
+    record NodeStats(String nodeId, long timestamp, long roomsVersion, long activeRooms, long activePlayers,
+                     List<RoomSummary> rooms) implements ClusterMessage {
+    }
+
+    // NodeStats.rooms 는 roomId 순으로 정렬되어 있다 (/api/rooms 가 노드별 목록을 병합)
+    record RoomSummary(String roomId, int playerCount, boolean full) {
+    }
+}
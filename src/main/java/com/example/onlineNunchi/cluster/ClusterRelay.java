@@ -0,0 +1,254 @@
+package com.example.onlineNunchi.cluster;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import com.example.onlineNunchi.escaperoom.GameRoomManager;
+import com.example.onlineNunchi.escaperoom.HeartbeatMonitor;
+import com.example.onlineNunchi.escaperoom.OutboundPolicy;
+import com.example.onlineNunchi.escaperoom.WebSocketHandler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 다른 노드가 소유한 방에 접속한 클라이언트의 프레임을 노드 간에 중계
+// 접속 노드는 소켓만 들고 있고, 방 상태와 게임 로직은 항상 소유 노드의 방 액터 하나에서만 처리된다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterRelay {
+
+    private final ClusterBus clusterBus;
+    private final ClusterTopology clusterTopology;
+    private final GameRoomManager gameRoomManager;
+    private final OutboundPolicy outboundPolicy;
+    private final HeartbeatMonitor heartbeatMonitor;
+    // WebSocketHandler 가 이 빈에 의존하므로 순환을 피하려고 지연 조회
+    private final ObjectProvider<WebSocketHandler> webSocketHandler;
+
+    // 접속 노드 쪽: 다른 노드의 방으로 중계 중인 로컬 소켓
+    private final ConcurrentHashMap<String, RelayedClient> relayedClients = new ConcurrentHashMap<>();
+    // 소유 노드 쪽: 다른 노드에서 중계되어 방에 입장한 세션
+    private final ConcurrentHashMap<String, RelayedWebSocketSession> remoteSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ClusterMessage.NodeStats> remoteStats = new ConcurrentHashMap<>();
+
+    @Value("${cluster.stats-interval-ms:1000}")
+    private long statsIntervalMillis;
+
+    // 방 목록이 바뀌지 않아도 이 횟수마다 한 번은 전체 목록을 보낸다 (새로 뜬 노드가 목록을 받을 수 있게)
+    @Value("${cluster.stats-full-every:30}")
+    private int statsFullEvery;
+
+    // 통계 스레드 전용
+    private long publishedRoomsVersion = -1;
+    private int publishesSinceFull;
+
+    private ScheduledExecutorService statsExecutor;
+
+    private record RelayedClient(String ownerNodeId, WebSocketSession session) {
+    }
+
+    @PostConstruct
+    public void init() {
+        clusterBus.register(clusterTopology.getLocalNodeId(), this::onMessage);
+        if (!clusterTopology.isClustered()) {
+            return;
+        }
+        statsExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        statsExecutor.scheduleAtFixedRate(this::publishStats, statsIntervalMillis, statsIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clusterBus.unregister(clusterTopology.getLocalNodeId());
+        if (statsExecutor != null) {
+            statsExecutor.shutdownNow();
+        }
+    }
+
+    // 방 소유 노드가 다른 노드면 입장을 중계하고 true
+    // 소유 노드가 최근 현황을 보내지 않았으면(내려갔거나 아직 뜨는 중) 중계하지 않고 false, 호출자는 로컬 매칭으로 넘긴다
+    public boolean relayJoin(WebSocketSession session, String roomId) {
+        String ownerNodeId = clusterTopology.ownerOf(roomId);
+        if (clusterTopology.getLocalNodeId().equals(ownerNodeId)) {
+            return false;
+        }
+        if (!isAlive(ownerNodeId)) {
+            log.warn("방 {} 의 소유 노드 {} 가 응답하지 않아 로컬에서 매칭합니다: sessionId={}", roomId, ownerNodeId,
+                session.getId());
+            return false;
+        }
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session,
+            (int) outboundPolicy.getSendTimeLimitMillis(), outboundPolicy.getBufferSizeLimit());
+        relayedClients.put(session.getId(), new RelayedClient(ownerNodeId, decorated));
+        // 소유 노드의 방에는 RelayedWebSocketSession 만 있으므로 실제 소켓의 하트비트는 접속 노드가 본다
+        heartbeatMonitor.watchRelayed(decorated, () -> relayLeave(session.getId()));
+        String principalName = session.getPrincipal() != null ? session.getPrincipal().getName() : null;
+        clusterBus.send(ownerNodeId, new ClusterMessage.RelayJoin(clusterTopology.getLocalNodeId(),
+            session.getId(), roomId, session.getAcceptedProtocol(), principalName));
+        log.info("방 {} 입장을 소유 노드 {} 로 중계: sessionId={}", roomId, ownerNodeId, session.getId());
+        return true;
+    }
+
+    public boolean isRelayed(String sessionId) {
+        return relayedClients.containsKey(sessionId);
+    }
+
+    // 중계 중인 세션의 수신 프레임을 파싱하지 않고 그대로 소유 노드로 전달
+    public void forward(WebSocketSession session, WebSocketMessage<?> message) {
+        RelayedClient client = relayedClients.get(session.getId());
+        if (client == null) {
+            return;
+        }
+        if (message instanceof TextMessage textMessage) {
+            clusterBus.send(client.ownerNodeId(),
+                new ClusterMessage.RelayText(session.getId(), textMessage.getPayload()));
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            clusterBus.send(client.ownerNodeId(),
+                new ClusterMessage.RelayBinary(session.getId(), toBytes(binaryMessage.getPayload())));
+        }
+    }
+
+    // 중계 중이던 세션이면 소유 노드에 퇴장을 알리고 true
+    public boolean relayLeave(String sessionId) {
+        RelayedClient client = relayedClients.remove(sessionId);
+        if (client == null) {
+            return false;
+        }
+        heartbeatMonitor.unwatch(sessionId);
+        clusterBus.send(client.ownerNodeId(), new ClusterMessage.RelayLeave(sessionId));
+        return true;
+    }
+
+    private void onMessage(ClusterMessage message) {
+        try {
+            switch (message) {
+                case ClusterMessage.RelayJoin join -> onRelayJoin(join);
+                case ClusterMessage.RelayText text -> {
+                    RelayedWebSocketSession session = remoteSessions.get(text.sessionId());
+                    if (session != null) {
+                        webSocketHandler.getObject().handleMessage(session, new TextMessage(text.payload()));
+                    }
+                }
+                case ClusterMessage.RelayBinary binary -> {
+                    RelayedWebSocketSession session = remoteSessions.get(binary.sessionId());
+                    if (session != null) {
+                        webSocketHandler.getObject().handleMessage(session, new BinaryMessage(binary.payload()));
+                    }
+                }
+                case ClusterMessage.RelayLeave leave -> {
+                    RelayedWebSocketSession session = remoteSessions.remove(leave.sessionId());
+                    if (session != null) {
+                        session.markClosed();
+                        webSocketHandler.getObject().afterConnectionClosed(session, CloseStatus.NORMAL);
+                    }
+                }
+                case ClusterMessage.DeliverText text -> deliver(text.sessionId(), new TextMessage(text.payload()));
+                case ClusterMessage.DeliverBinary binary ->
+                    deliver(binary.sessionId(), new BinaryMessage(binary.payload()));
+                case ClusterMessage.Close close -> {
+                    // 소켓 종료 후 afterConnectionClosed -> relayLeave 로 소유 노드의 퇴장 처리가 이어진다
+                    RelayedClient client = relayedClients.get(close.sessionId());
+                    if (client != null) {
+                        client.session().close(new CloseStatus(close.code(), close.reason()));
+                    }
+                }
+                case ClusterMessage.NodeStats stats -> remoteStats.merge(stats.nodeId(), stats, ClusterRelay::mergeStats);
+            }
+        } catch (Exception e) {
+            log.error("클러스터 메시지 처리 중 에러 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    private void onRelayJoin(ClusterMessage.RelayJoin join) throws Exception {
+        RelayedWebSocketSession session = new RelayedWebSocketSession(join.sessionId(), join.originNodeId(),
+            join.acceptedProtocol(), join.principalName(), clusterBus);
+        remoteSessions.put(join.sessionId(), session);
+        if (!gameRoomManager.joinRoom(session, join.roomId())) {
+            log.warn("중계된 입장 거절 (방 없음 또는 만석): roomId={}, sessionId={}", join.roomId(), join.sessionId());
+            remoteSessions.remove(join.sessionId());
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+    }
+
+    private void deliver(String sessionId, WebSocketMessage<?> message) throws Exception {
+        RelayedClient client = relayedClients.get(sessionId);
+        if (client != null && client.session().isOpen()) {
+            client.session().sendMessage(message);
+        }
+    }
+
+    private void publishStats() {
+        try {
+            long roomsVersion = gameRoomManager.getRoomsVersion();
+            // 방 목록(O(방 수))은 바뀌었을 때와 statsFullEvery 번마다만 만들고, 그 외에는 개수만 보낸다
+            List<ClusterMessage.RoomSummary> rooms = null;
+            if (roomsVersion != publishedRoomsVersion || ++publishesSinceFull >= statsFullEvery) {
+                rooms = gameRoomManager.listRooms(null, Integer.MAX_VALUE, false).stream()
+                    .map(room -> new ClusterMessage.RoomSummary(room.getRoomId(),
+                        Math.max(0, room.getReservedSeats()), room.isFull()))
+                    .toList();
+                publishedRoomsVersion = roomsVersion;
+                publishesSinceFull = 0;
+            }
+            clusterBus.broadcast(clusterTopology.getLocalNodeId(), new ClusterMessage.NodeStats(
+                clusterTopology.getLocalNodeId(), System.currentTimeMillis(), roomsVersion,
+                gameRoomManager.getActiveRoomCount(), gameRoomManager.getActivePlayerCount(), rooms));
+        } catch (Exception e) {
+            log.error("노드 현황 전송 중 에러 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    // 최근 주기 안에 현황을 보낸 다른 노드들 (응답이 끊긴 노드는 제외)
+    public Collection<ClusterMessage.NodeStats> getRemoteStats() {
+        long expiredBefore = System.currentTimeMillis() - statsIntervalMillis * 3;
+        remoteStats.values().removeIf(stats -> stats.timestamp() < expiredBefore);
+        return remoteStats.values();
+    }
+
+    // 개수만 온 현황은 같은 버전의 이전 목록을 이어 쓴다, 버전이 다르면 다음 전체 목록까지 목록 없음(null)
+    private static ClusterMessage.NodeStats mergeStats(ClusterMessage.NodeStats previous,
+                                                      ClusterMessage.NodeStats latest) {
+        if (latest.rooms() != null) {
+            return latest;
+        }
+        List<ClusterMessage.RoomSummary> rooms = previous.roomsVersion() == latest.roomsVersion()
+            ? previous.rooms() : null;
+        return new ClusterMessage.NodeStats(latest.nodeId(), latest.timestamp(), latest.roomsVersion(),
+            latest.activeRooms(), latest.activePlayers(), rooms);
+    }
+
+    private boolean isAlive(String nodeId) {
+        ClusterMessage.NodeStats stats = remoteStats.get(nodeId);
+        return stats != null && stats.timestamp() >= System.currentTimeMillis() - statsIntervalMillis * 3;
+    }
+
+    private static byte[] toBytes(ByteBuffer payload) {
+        ByteBuffer buffer = payload.duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
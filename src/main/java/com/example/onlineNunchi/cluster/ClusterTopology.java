@@ -0,0 +1,60 @@
+package com.example.onlineNunchi.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+// 클러스터 노드 구성과 방 소유 노드 결정
+// cluster.nodes 를 비워 두면 이 노드 하나로 이루어진 단일 노드 클러스터로 동작한다.
+@Slf4j
+@Component
+public class ClusterTopology {
+
+    @Getter
+    @Value("${cluster.node-id:node-1}")
+    private String localNodeId;
+
+    @Value("${cluster.nodes:}")
+    private String nodes;
+
+    @Value("${cluster.virtual-nodes:64}")
+    private int virtualNodes;
+
+    @Getter
+    private List<String> nodeIds;
+    private ConsistentHashRing ring;
+
+    @PostConstruct
+    public void init() {
+        List<String> configured = new ArrayList<>();
+        Arrays.stream(nodes.split(","))
+            .map(String::trim)
+            .filter(node -> !node.isEmpty())
+            .forEach(configured::add);
+        if (!configured.contains(localNodeId)) {
+            configured.add(localNodeId);
+        }
+        nodeIds = List.copyOf(configured);
+        ring = new ConsistentHashRing(nodeIds, virtualNodes);
+        log.info("클러스터 구성: 로컬 노드={}, 전체 노드={}", localNodeId, nodeIds);
+    }
+
+    public String ownerOf(String roomId) {
+        return ring.ownerOf(roomId);
+    }
+
+    public boolean isLocal(String roomId) {
+        return localNodeId.equals(ownerOf(roomId));
+    }
+
+    public boolean isClustered() {
+        return nodeIds.size() > 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.onlineNunchi.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 같은 JVM 안의 노드끼리 메시지를 주고받는 버스 (단일 노드 운영과 테스트용)
+// 같은 버스 인스턴스에 등록한 노드끼리만 통신하며, 컨텍스트가 닫히면 close 로 리스너를 모두 지운다.
+// 메시지는 호출 스레드에서 바로 전달되므로 보낸 순서가 그대로 유지된다.
+@Slf4j
+public class LoopbackClusterBus implements ClusterBus {
+    private final Map<String, Consumer<ClusterMessage>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String nodeId, Consumer<ClusterMessage> listener) {
+        listeners.put(nodeId, listener);
+    }
+
+    @Override
+    public void unregister(String nodeId) {
+        listeners.remove(nodeId);
+    }
+
+    @Override
+    public void send(String nodeId, ClusterMessage message) {
+        Consumer<ClusterMessage> listener = listeners.get(nodeId);
+        if (listener == null) {
+            log.warn("메시지를 받을 노드가 없습니다: {}", nodeId);
+            return;
+        }
+        deliver(listener, message);
+    }
+
+    @Override
+    public void broadcast(String fromNodeId, ClusterMessage message) {
+        listeners.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(fromNodeId)) {
+                deliver(listener, message);
+            }
+        });
+    }
+
+    public void close() {
+        listeners.clear();
+    }
+
+    private void deliver(Consumer<ClusterMessage> listener, ClusterMessage message) {
+        try {
+            listener.accept(message);
+        } catch (Exception e) {
+            log.error("클러스터 메시지 처리 중 에러 발생: {}", e.getMessage(), e);
+        }
+    }
+}
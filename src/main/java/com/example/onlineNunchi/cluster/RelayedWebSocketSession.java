@@ -0,0 +1,153 @@
+package com.example.onlineNunchi.cluster;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+// 다른 노드에 접속한 클라이언트를 방 소유 노드에서 대신하는 세션
+// 방은 일반 세션과 똑같이 다루고, 보내는 프레임은 메시지 버스를 통해 접속 노드로 전달된다.
+public class RelayedWebSocketSession implements WebSocketSession {
+    private final String id;
+    private final String originNodeId;
+    private final String acceptedProtocol;
+    private final ClusterBus clusterBus;
+    // 접속 노드의 핸드셰이크 Principal 과 같은 형태 (WebSocketConfig.determineUser)
+    private final Principal principal;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final HttpHeaders handshakeHeaders = new HttpHeaders();
+    private volatile boolean open = true;
+    private int textMessageSizeLimit;
+    private int binaryMessageSizeLimit;
+
+    public RelayedWebSocketSession(String id, String originNodeId, String acceptedProtocol, String principalName,
+                                   ClusterBus clusterBus) {
+        this.id = id;
+        this.originNodeId = originNodeId;
+        this.acceptedProtocol = acceptedProtocol;
+        this.principal = principalName != null
+            ? new UsernamePasswordAuthenticationToken(principalName, null, List.of())
+            : null;
+        this.clusterBus = clusterBus;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    @Override
+    public URI getUri() {
+        return null;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return handshakeHeaders;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return acceptedProtocol;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+        this.textMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return textMessageSizeLimit;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        this.binaryMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return binaryMessageSizeLimit;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (!open) {
+            throw new IOException("이미 닫힌 중계 세션입니다: " + id);
+        }
+        if (message instanceof TextMessage textMessage) {
+            clusterBus.send(originNodeId, new ClusterMessage.DeliverText(id, textMessage.getPayload()));
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer payload = binaryMessage.getPayload().duplicate();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            clusterBus.send(originNodeId, new ClusterMessage.DeliverBinary(id, bytes));
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(CloseStatus.NORMAL);
+    }
+
+    // 접속 노드에 실제 연결 종료를 요청, 퇴장 처리는 접속 노드의 RelayLeave 로 이어진다
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        if (open) {
+            open = false;
+            clusterBus.send(originNodeId, new ClusterMessage.Close(id, status.getCode(), status.getReason()));
+        }
+    }
+
+    void markClosed() {
+        open = false;
+    }
+}
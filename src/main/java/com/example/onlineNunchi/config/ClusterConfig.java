@@ -0,0 +1,16 @@
+package com.example.onlineNunchi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.onlineNunchi.cluster.LoopbackClusterBus;
+
+@Configuration
+public class ClusterConfig {
+
+    // 여러 인스턴스로 운영할 때는 노드 간 통신이 가능한 ClusterBus 구현으로 교체
+    @Bean(destroyMethod = "close")
+    public LoopbackClusterBus clusterBus() {
+        return new LoopbackClusterBus();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.onlineNunchi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // 게임 결과 write-behind 큐가 한 번에 저장하는 개수와 JDBC 배치 크기를 맞춘다
+    // MySQL 은 JDBC URL 에 rewriteBatchedStatements=true 를 붙여야 배치가 다중 행 INSERT 한 번으로 전송된다
+    @Value("${game.results.batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchCustomizer() {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.onlineNunchi.config;
 
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
-import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 import com.example.onlineNunchi.escaperoom.WebSocketHandler;
+import com.example.onlineNunchi.security.JwtHandshakeInterceptor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,12 +25,26 @@ import lombok.extern.slf4j.Slf4j;
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final WebSocketHandler webSocketHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         log.info("웹소켓 핸들러 등록 시작");
+        // HttpSession 없이 핸드셰이크에서 검증한 토큰의 사용자를 세션 Principal 로 사용
         registry.addHandler(webSocketHandler, "/ws")
-                .addInterceptors(new HttpSessionHandshakeInterceptor())
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setHandshakeHandler(new DefaultHandshakeHandler() {
+                    @Override
+                    protected Principal determineUser(ServerHttpRequest request,
+                                                      org.springframework.web.socket.WebSocketHandler wsHandler,
+                                                      Map<String, Object> attributes) {
+                        Object username = attributes.get(JwtHandshakeInterceptor.PRINCIPAL_ATTRIBUTE);
+                        if (username == null) {
+                            return super.determineUser(request, wsHandler, attributes);
+                        }
+                        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+                    }
+                })
                 .setAllowedOrigins("http://localhost:3000", "http://127.0.0.1:3000");
         log.info("웹소켓 핸들러 등록 완료: /ws");
     }
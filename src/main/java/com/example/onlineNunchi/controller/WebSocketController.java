@@ -1,15 +1,34 @@
 package com.example.onlineNunchi.controller;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.onlineNunchi.cluster.ClusterMessage;
+import com.example.onlineNunchi.cluster.ClusterRelay;
+import com.example.onlineNunchi.cluster.ClusterTopology;
 import com.example.onlineNunchi.escaperoom.GameRoom;
 import com.example.onlineNunchi.escaperoom.GameRoomManager;
+import com.example.onlineNunchi.escaperoom.HeartbeatMonitor;
+import com.example.onlineNunchi.escaperoom.InputRateLimiter;
+import com.example.onlineNunchi.escaperoom.MoveJournal;
+import com.example.onlineNunchi.escaperoom.OutboundPolicy;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +40,69 @@ import lombok.extern.slf4j.Slf4j;
 public class WebSocketController {
 
     private final GameRoomManager gameRoomManager;
+    private final OutboundPolicy outboundPolicy;
+    private final ClusterTopology clusterTopology;
+    private final ClusterRelay clusterRelay;
+    private final HeartbeatMonitor heartbeatMonitor;
+    private final MoveJournal moveJournal;
+    private final InputRateLimiter inputRateLimiter;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private record RoomEntry(String roomId, int playerCount, boolean full, String node) {
+    }
+
+    // 방 ID 순으로 정렬된 한 노드의 방 목록을 커서 다음부터 앞에서 하나씩 읽는다
+    private static final class RoomCursor {
+        private final String node;
+        private final List<ClusterMessage.RoomSummary> rooms;
+        private final boolean availableOnly;
+        private int index;
+
+        private RoomCursor(String node, List<ClusterMessage.RoomSummary> rooms, String cursor, boolean availableOnly) {
+            this.node = node;
+            this.rooms = rooms;
+            this.availableOnly = availableOnly;
+            this.index = cursor == null ? 0 : firstAfter(rooms, cursor);
+            skipFull();
+        }
+
+        // roomId 가 cursor 보다 큰 첫 위치 (이분 탐색)
+        private static int firstAfter(List<ClusterMessage.RoomSummary> rooms, String cursor) {
+            int low = 0;
+            int high = rooms.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rooms.get(mid).roomId().compareTo(cursor) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void skipFull() {
+            while (availableOnly && index < rooms.size() && rooms.get(index).full()) {
+                index++;
+            }
+        }
+
+        private boolean hasNext() {
+            return index < rooms.size();
+        }
+
+        private String peekId() {
+            return rooms.get(index).roomId();
+        }
+
+        private RoomEntry next() {
+            ClusterMessage.RoomSummary room = rooms.get(index++);
+            skipFull();
+            return new RoomEntry(room.roomId(), room.playerCount(), room.full(), node);
+        }
+    }
 
     @GetMapping("/connect")
     public ResponseEntity<String> connect() {
@@ -28,27 +110,124 @@ public class WebSocketController {
         return ResponseEntity.ok("ws://localhost:8080/ws");
     }
 
+    // 방/플레이어 수는 입장/퇴장 시점에 갱신되는 카운터와 다른 노드들이 보낸 합계를 더한다 (방 개수와 무관)
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getStatus() {
+        Collection<ClusterMessage.NodeStats> remoteStats = clusterRelay.getRemoteStats();
+        long activeRooms = gameRoomManager.getActiveRoomCount();
+        long totalPlayers = gameRoomManager.getActivePlayerCount();
+        for (ClusterMessage.NodeStats stats : remoteStats) {
+            activeRooms += stats.activeRooms();
+            totalPlayers += stats.activePlayers();
+        }
         Map<String, Object> status = Map.of(
-            "activeRooms", gameRoomManager.getGameRooms().size(),
-            "totalPlayers", gameRoomManager.getGameRooms().values().stream()
-                .mapToInt(GameRoom::getPlayerCount)
-                .sum()
+            "activeRooms", activeRooms,
+            "totalPlayers", totalPlayers,
+            "nodes", 1 + remoteStats.size(),
+            "droppedFrames", outboundPolicy.getDroppedFrames().sum(),
+            "conflatedFrames", outboundPolicy.getConflatedFrames().sum(),
+            "evictedSessions", outboundPolicy.getEvictedSessions().sum(),
+            "deadSessions", heartbeatMonitor.getDeadSessions(),
+            "reapedRooms", heartbeatMonitor.getReapedRooms(),
+            "throttledMessages", inputRateLimiter.getThrottledMessages(),
+            "throttleClosedSessions", inputRateLimiter.getClosedSessions()
         );
         return ResponseEntity.ok(status);
     }
 
+    // 방 ID 순 커서 페이지네이션, available=true 면 빈 자리가 있는 방만
+    // 방 목록 버전으로 ETag 를 만들어 바뀐 게 없으면 목록을 만들지 않고 304 로 응답한다.
     @GetMapping("/rooms")
-    public ResponseEntity<Map<String, Object>> getRooms() {
-        Map<String, Object> rooms = gameRoomManager.getGameRooms().values().stream()
-            .collect(Collectors.toMap(
-                GameRoom::getRoomId,
-                room -> Map.of(
-                    "playerCount", room.getPlayerCount(),
-                    "isFull", room.isFull()
-                )
-            ));
-        return ResponseEntity.ok(Map.of("rooms", rooms));
-    }
-} 
\ No newline at end of file
+    public ResponseEntity<Map<String, Object>> getRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean available,
+            WebRequest webRequest) {
+        Collection<ClusterMessage.NodeStats> remoteStats = clusterRelay.getRemoteStats();
+        if (webRequest.checkNotModified(roomsETag(remoteStats))) {
+            return null;
+        }
+
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // 다음 페이지가 있는지 알기 위해 한 개 더 가져온다
+        List<ClusterMessage.RoomSummary> localRooms = new ArrayList<>(pageSize + 1);
+        for (GameRoom room : gameRoomManager.listRooms(cursor, pageSize + 1, available)) {
+            localRooms.add(new ClusterMessage.RoomSummary(room.getRoomId(), Math.max(0, room.getReservedSeats()),
+                room.isFull()));
+        }
+
+        // 노드마다 이미 방 ID 순으로 정렬된 목록을 k-way 병합하고 pageSize + 1 개에서 멈춘다
+        // 원격 목록은 커서 위치를 이분 탐색으로 찾으므로 요청 비용이 전체 방 수에 비례하지 않는다
+        PriorityQueue<RoomCursor> sources = new PriorityQueue<>(remoteStats.size() + 1,
+            Comparator.comparing(RoomCursor::peekId));
+        addIfNotEmpty(sources, new RoomCursor(clusterTopology.getLocalNodeId(), localRooms, null, false));
+        for (ClusterMessage.NodeStats stats : remoteStats) {
+            // 아직 전체 목록을 받지 못한 노드는 건너뛴다
+            if (stats.rooms() != null) {
+                addIfNotEmpty(sources, new RoomCursor(stats.nodeId(), stats.rooms(), cursor, available));
+            }
+        }
+        List<RoomEntry> entries = new ArrayList<>(pageSize + 1);
+        while (entries.size() <= pageSize && !sources.isEmpty()) {
+            RoomCursor source = sources.poll();
+            entries.add(source.next());
+            addIfNotEmpty(sources, source);
+        }
+
+        Map<String, Object> rooms = new LinkedHashMap<>();
+        entries.stream().limit(pageSize).forEach(entry -> rooms.put(entry.roomId(), Map.of(
+            "playerCount", entry.playerCount(),
+            "isFull", entry.full(),
+            "node", entry.node()
+        )));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("rooms", rooms);
+        // 페이지 크기를 넘는 항목이 있을 때만 커서를 내려주고, 마지막 페이지면 null
+        response.put("nextCursor", entries.size() > pageSize ? entries.get(pageSize - 1).roomId() : null);
+        return ResponseEntity.ok(response);
+    }
+
+    // 방의 이동 기록 파일을 그대로 스트리밍 (형식은 RoomJournal 참고), 미로 시드는 헤더로도 알려준다
+    // 기록은 이 노드에 남은 파일만 대상으로 한다
+    @GetMapping("/rooms/{roomId}/replay")
+    public ResponseEntity<StreamingResponseBody> getReplay(@PathVariable String roomId) throws IOException {
+        MoveJournal.Replay replay = moveJournal.openReplay(roomId);
+        if (replay == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            long mazeSeed = replay.getMazeSeed();
+            StreamingResponseBody body = outputStream -> {
+                try (replay) {
+                    replay.transferTo(Channels.newChannel(outputStream));
+                }
+            };
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(replay.getLength())
+                .header("X-Maze-Seed", Long.toString(mazeSeed))
+                .body(body);
+        } catch (IOException | RuntimeException e) {
+            replay.close();
+            throw e;
+        }
+    }
+
+    private static void addIfNotEmpty(PriorityQueue<RoomCursor> sources, RoomCursor source) {
+        if (source.hasNext()) {
+            sources.add(source);
+        }
+    }
+
+    private String roomsETag(Collection<ClusterMessage.NodeStats> remoteStats) {
+        StringBuilder etag = new StringBuilder("\"")
+            .append(clusterTopology.getLocalNodeId()).append('-').append(gameRoomManager.getRoomsVersion());
+        remoteStats.stream()
+            .sorted(Comparator.comparing(ClusterMessage.NodeStats::nodeId))
+            // 목록이 없는 노드는 버전 대신 표시해, 나중에 같은 버전의 목록이 도착하면 ETag 가 바뀌게 한다
+            .forEach(stats -> etag.append('.').append(stats.nodeId()).append('-')
+                .append(stats.rooms() != null ? String.valueOf(stats.roomsVersion()) : "none"));
+        return etag.append('"').toString();
+    }
+}
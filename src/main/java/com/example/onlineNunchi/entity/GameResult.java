@@ -0,0 +1,71 @@
+package com.example.onlineNunchi.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 출구에 도달한 게임 한 판의 기록
+// ID 를 애플리케이션에서 미리 정해야(UUID) IDENTITY 전략과 달리 Hibernate 가 INSERT 를 JDBC 배치로 묶을 수 있다.
+// isNew 를 직접 알려 saveAll 이 merge(SELECT 후 INSERT) 대신 바로 persist 하게 한다.
+@Entity
+@Table(name = "game_results", indexes = @Index(name = "idx_game_results_room_id", columnList = "roomId"))
+@Data
+@NoArgsConstructor
+public class GameResult implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, length = 36)
+    private String roomId;
+
+    @Column(nullable = false)
+    private long mazeSeed;
+
+    // 쉼표로 구분한 플레이어 목록 (별도 테이블로 나누면 결과마다 INSERT 가 늘어난다)
+    @Column(nullable = false, length = 1024)
+    private String players;
+
+    @Column(nullable = false)
+    private int moveCount;
+
+    @Column(nullable = false)
+    private long durationMillis;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    @Column(nullable = false)
+    private Instant finishedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public GameResult(String roomId, long mazeSeed, String players, int moveCount, Instant startedAt,
+                      Instant finishedAt) {
+        this.id = UUID.randomUUID();
+        this.roomId = roomId;
+        this.mazeSeed = mazeSeed;
+        this.players = players;
+        this.moveCount = moveCount;
+        this.durationMillis = finishedAt.toEpochMilli() - startedAt.toEpochMilli();
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
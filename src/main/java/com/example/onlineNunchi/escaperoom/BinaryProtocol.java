@@ -0,0 +1,68 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.web.socket.WebSocketSession;
+
+// 바이너리 서브프로토콜 (Sec-WebSocket-Protocol: nunchi.bin.v1)
+// 이 프로토콜을 협상한 클라이언트만 MOVE / POSITION_UPDATE 를 바이너리 프레임으로 주고받는다.
+//
+// MOVE            (클라이언트 -> 서버, 3바이트): [0x01][dx: int8][dy: int8]
+// SYNC            (클라이언트 -> 서버, 1바이트): [0x02]  -> JSON SNAPSHOT 으로 응답
+// HINT            (클라이언트 -> 서버, 1바이트): [0x03]  -> JSON HINT 로 응답
+// POSITION_UPDATE (서버 -> 클라이언트, 9바이트): [0x81][seq: int32 BE][x: int16 BE][y: int16 BE]
+public final class BinaryProtocol {
+    public static final String SUB_PROTOCOL = "nunchi.bin.v1";
+
+    public static final byte OP_MOVE = 0x01;
+    public static final byte OP_SYNC = 0x02;
+    public static final byte OP_HINT = 0x03;
+    public static final byte OP_POSITION_UPDATE = (byte) 0x81;
+
+    public static final int MOVE_FRAME_LENGTH = 3;
+    public static final int SYNC_FRAME_LENGTH = 1;
+    public static final int HINT_FRAME_LENGTH = 1;
+    public static final int POSITION_UPDATE_FRAME_LENGTH = 9;
+
+    private BinaryProtocol() {
+    }
+
+    public static boolean isBinarySession(WebSocketSession session) {
+        return SUB_PROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    // 전송 시 ByteBuffer 의 position 이 소비되므로 세션마다 new BinaryMessage(frame) 으로 감싸서 보낸다
+    public static byte[] encodePositionUpdate(long seq, int x, int y) {
+        byte[] frame = new byte[POSITION_UPDATE_FRAME_LENGTH];
+        frame[0] = OP_POSITION_UPDATE;
+        frame[1] = (byte) (seq >> 24);
+        frame[2] = (byte) (seq >> 16);
+        frame[3] = (byte) (seq >> 8);
+        frame[4] = (byte) seq;
+        frame[5] = (byte) (x >> 8);
+        frame[6] = (byte) x;
+        frame[7] = (byte) (y >> 8);
+        frame[8] = (byte) y;
+        return frame;
+    }
+
+    public static boolean isMove(ByteBuffer frame) {
+        return frame.remaining() == MOVE_FRAME_LENGTH && frame.get(frame.position()) == OP_MOVE;
+    }
+
+    public static boolean isSync(ByteBuffer frame) {
+        return frame.remaining() == SYNC_FRAME_LENGTH && frame.get(frame.position()) == OP_SYNC;
+    }
+
+    public static boolean isHint(ByteBuffer frame) {
+        return frame.remaining() == HINT_FRAME_LENGTH && frame.get(frame.position()) == OP_HINT;
+    }
+
+    public static int moveX(ByteBuffer frame) {
+        return frame.get(frame.position() + 1);
+    }
+
+    public static int moveY(ByteBuffer frame) {
+        return frame.get(frame.position() + 2);
+    }
+}
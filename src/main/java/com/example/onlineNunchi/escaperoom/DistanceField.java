@@ -0,0 +1,83 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.Arrays;
+
+// 모든 셀에서 출구까지의 최단 거리 (칸 수)
+// 미로 생성 시 경로 검증을 겸해 출구에서 시작하는 BFS 한 번으로 계산하고, 이후 조회는 배열 접근 한 번이다.
+// 셀 수가 65535 개 미만이면 셀당 2바이트(char[]), 그 이상이면 int[] 에 저장한다.
+final class DistanceField {
+    static final int UNREACHABLE = -1;
+    private static final char SMALL_UNREACHABLE = Character.MAX_VALUE;
+
+    private final char[] small;
+    private final int[] large;
+
+    private DistanceField(char[] small, int[] large) {
+        this.small = small;
+        this.large = large;
+    }
+
+    // exit 에서 BFS 로 distances 를 채운다, 벽과 도달할 수 없는 셀은 UNREACHABLE
+    // queue 와 distances 는 셀 수 크기의 작업 배열 (여러 번 시도할 때 재사용)
+    static void fill(long[] walls, int columns, int rows, int exit, int[] queue, int[] distances) {
+        Arrays.fill(distances, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = exit;
+        distances[exit] = 0;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distances[cell] + 1;
+            int r = cell / columns;
+            int c = cell - r * columns;
+            if (r > 0) {
+                tail = visit(walls, distances, queue, tail, cell - columns, next);
+            }
+            if (r < rows - 1) {
+                tail = visit(walls, distances, queue, tail, cell + columns, next);
+            }
+            if (c > 0) {
+                tail = visit(walls, distances, queue, tail, cell - 1, next);
+            }
+            if (c < columns - 1) {
+                tail = visit(walls, distances, queue, tail, cell + 1, next);
+            }
+        }
+    }
+
+    private static int visit(long[] walls, int[] distances, int[] queue, int tail, int cell, int distance) {
+        if (distances[cell] == UNREACHABLE && (walls[cell >>> 6] & (1L << cell)) == 0) {
+            distances[cell] = distance;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    // 최단 거리는 항상 셀 수보다 작으므로 셀 수만 보고 저장 형식을 고른다
+    static DistanceField of(int[] distances) {
+        if (distances.length < SMALL_UNREACHABLE) {
+            char[] small = new char[distances.length];
+            for (int i = 0; i < distances.length; i++) {
+                small[i] = distances[i] == UNREACHABLE ? SMALL_UNREACHABLE : (char) distances[i];
+            }
+            return new DistanceField(small, null);
+        }
+        return new DistanceField(null, distances.clone());
+    }
+
+    static DistanceField compute(long[] walls, int columns, int rows, int exit) {
+        int cells = columns * rows;
+        int[] distances = new int[cells];
+        fill(walls, columns, rows, exit, new int[cells], distances);
+        return of(distances);
+    }
+
+    int get(int index) {
+        if (small != null) {
+            char distance = small[index];
+            return distance == SMALL_UNREACHABLE ? UNREACHABLE : distance;
+        }
+        return large[index];
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.List;
+
+// 공유 위치가 처음 출구에 도달한 방의 결과 (방 액터가 만들어 GameRoomManager 로 넘긴다)
+// players 는 인증된 세션이면 사용자 이름, 아니면 세션 ID
+public record GameFinished(
+    String roomId,
+    long mazeSeed,
+    List<String> players,
+    int moveCount,
+    long startedAtMillis,
+    long finishedAtMillis
+) {
+    public long durationMillis() {
+        return finishedAtMillis - startedAtMillis;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+// JSON 텍스트 프로토콜 메시지 (기존 Map 기반 형식과 필드 이름, 값이 같다)
+// 직렬화와 파싱은 MessageCodec 이 미리 만들어 둔 ObjectReader / ObjectWriter 로 처리한다.
+public sealed interface GameMessage {
+    String MOVE = "MOVE";
+    String SYNC = "SYNC";
+    String HINT = "HINT";
+    String JOIN = "JOIN";
+    String LEAVE = "LEAVE";
+    String POSITION_UPDATE = "POSITION_UPDATE";
+    String EXIT_REACHED = "EXIT_REACHED";
+    String SNAPSHOT = "SNAPSHOT";
+
+    @JsonProperty("type")
+    String type();
+
+    record Position(int x, int y) {
+    }
+
+    // 클라이언트 -> 서버, position 은 이동 방향
+    @JsonPropertyOrder({"type", "position"})
+    record Move(Position position) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return MOVE;
+        }
+    }
+
+    // 클라이언트 -> 서버, SNAPSHOT 요청
+    record Sync() implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return SYNC;
+        }
+    }
+
+    // 클라이언트 -> 서버, HINT 요청
+    record Hint() implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return HINT;
+        }
+    }
+
+    // 처리하지 않는 타입이거나 형식이 맞지 않는 메시지 (type 이 없으면 null)
+    record Unknown(String type) implements GameMessage {
+    }
+
+    // 입장한 플레이어에게는 위치, 거리, 장애물까지 보내고 기존 플레이어에게는 null 필드를 뺀 변경분만 보낸다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"type", "roomId", "seq", "playerId", "playerCount", "position", "distance", "obstacles"})
+    record Join(String roomId, long seq, String playerId, int playerCount, Position position, Integer distance,
+                RawValue obstacles) implements GameMessage {
+        public Join(String roomId, long seq, String playerId, int playerCount) {
+            this(roomId, seq, playerId, playerCount, null, null, null);
+        }
+
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return JOIN;
+        }
+    }
+
+    @JsonPropertyOrder({"type", "roomId", "seq", "playerId", "playerCount"})
+    record Leave(String roomId, long seq, String playerId, int playerCount) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return LEAVE;
+        }
+    }
+
+    @JsonPropertyOrder({"type", "roomId", "seq", "position", "distance"})
+    record PositionUpdate(String roomId, long seq, Position position, int distance) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return POSITION_UPDATE;
+        }
+    }
+
+    @JsonPropertyOrder({"type", "roomId", "seq", "position"})
+    record ExitReached(String roomId, long seq, Position position) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return EXIT_REACHED;
+        }
+    }
+
+    // SYNC 응답, 순번 누락을 감지한 클라이언트가 전체 상태를 다시 맞춘다
+    @JsonPropertyOrder({"type", "roomId", "seq", "position", "distance", "escaped", "playerCount", "players"})
+    record Snapshot(String roomId, long seq, Position position, int distance, boolean escaped, int playerCount,
+                    List<String> players) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return SNAPSHOT;
+        }
+    }
+
+    // HINT 응답, next 는 출구 쪽 다음 한 칸의 방향 (이미 출구에 있거나 도달할 수 없으면 생략)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"type", "roomId", "position", "distance", "next"})
+    record HintResponse(String roomId, Position position, int distance, Position next) implements GameMessage {
+        @Override
+        @JsonProperty("type")
+        public String type() {
+            return HINT;
+        }
+    }
+}
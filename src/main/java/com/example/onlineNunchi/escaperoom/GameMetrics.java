@@ -0,0 +1,75 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+// 게임 서버 Micrometer 지표 (/actuator/prometheus 로 노출)
+// 미터는 모두 생성 시점에 등록해 두고, 핫 패스에서는 조회된 미터에 기록만 하므로 할당이 없다.
+@Getter
+@Component
+public class GameMetrics {
+    public static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> jsonMessageTimers;
+    private final Timer binaryMoveTimer;
+    private final Timer binarySyncTimer;
+    private final Timer binaryHintTimer;
+    private final Timer binaryUnknownTimer;
+    private final Counter joins;
+    private final Counter leaves;
+    private final Timer sendTimer;
+    private final Counter sendFailures;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.jsonMessageTimers = Map.of(
+            "MOVE", messageTimer("MOVE", "json"),
+            "SYNC", messageTimer("SYNC", "json"),
+            "HINT", messageTimer("HINT", "json"),
+            UNKNOWN_TYPE, messageTimer(UNKNOWN_TYPE, "json")
+        );
+        this.binaryMoveTimer = messageTimer("MOVE", "binary");
+        this.binarySyncTimer = messageTimer("SYNC", "binary");
+        this.binaryHintTimer = messageTimer("HINT", "binary");
+        this.binaryUnknownTimer = messageTimer(UNKNOWN_TYPE, "binary");
+        this.joins = Counter.builder("game.rooms.joins")
+            .description("방 입장 수")
+            .register(registry);
+        this.leaves = Counter.builder("game.rooms.leaves")
+            .description("방 퇴장 수")
+            .register(registry);
+        this.sendTimer = Timer.builder("game.ws.send")
+            .description("세션별 프레임 전송 시간")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.sendFailures = Counter.builder("game.ws.send.failures")
+            .description("프레임 전송 실패 수")
+            .register(registry);
+    }
+
+    private Timer messageTimer(String type, String protocol) {
+        return Timer.builder("game.ws.messages")
+            .description("수신 메시지 처리 시간")
+            .tag("type", type)
+            .tag("protocol", protocol)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public Timer jsonMessageTimer(String type) {
+        Timer timer = type != null ? jsonMessageTimers.get(type) : null;
+        return timer != null ? timer : jsonMessageTimers.get(UNKNOWN_TYPE);
+    }
+
+    public static void recordSince(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,63 +1,288 @@
 package com.example.onlineNunchi.escaperoom;
 
 import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
-
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+// 방 하나를 담당하는 액터
+// 외부 스레드는 submit() 으로 명령만 넣고, 방 상태(위치, 플레이어 목록)는 전용 가상 스레드에서만 변경된다.
+// 상태가 바뀔 때마다 순번(seq)이 1씩 증가하고, 브로드캐스트에는 순번과 바뀐 필드만 담는다.
+// 순번이 건너뛴 것을 감지한 클라이언트는 SYNC 를 보내 SNAPSHOT 으로 전체 상태를 다시 받는다.
+// 출구까지 거리는 미로에 미리 계산되어 있어 HINT 응답과 탈출 판정은 배열 조회 한 번이다.
 @Slf4j
 @Getter
 public class GameRoom {
     private final String roomId;
-    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
-    private Map<String, Object> sharedPosition;
-    private List<Map<String, Object>> obstacles;
-    private static final int MAX_PLAYERS = 5;
-    private static final int GRID_X_SIZE = 31;
-    private static final int GRID_Y_SIZE = 21;
-
-    public GameRoom(String roomId, MazeGenerator mazeGenerator) {
+    private final ConcurrentHashMap<String, PlayerConnection> sessions = new ConcurrentHashMap<>();
+    private int positionX;
+    private int positionY;
+    private long sequence;
+    // 공유 위치가 한 번이라도 출구에 도달했는지 (액터 스레드 전용)
+    private boolean escaped;
+    // 실제로 반영된 이동 수 (액터 스레드 전용)
+    private int moveCount;
+    private long createdAtMillis = System.currentTimeMillis();
+    private final MazeGrid maze;
+    // 미로에 캐시된 장애물 JSON 배열 (JOIN 메시지에 그대로 삽입)
+    private final RawValue obstaclesJson;
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<RoomCommand> mailbox = new LinkedBlockingQueue<>();
+    // 틱 모드에서 다음 틱을 기다리는 입력 (액터 스레드 전용)
+    @Getter(AccessLevel.NONE)
+    private final ArrayDeque<RoomCommand.QueueMove> pendingMoves = new ArrayDeque<>();
+    // 틱 모드: 다음 틱에 반영할 입력이 있으면 true, 틱 스케줄러는 이 표시가 있는 방에만 TICK 을 보낸다
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean tickPending = new AtomicBoolean();
+    // 매칭에서 예약된 좌석 수, 방이 닫히면 CLOSED
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger reservedSeats = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final Consumer<GameRoom> seatReleasedHandler;
+    @Getter(AccessLevel.NONE)
+    private final Consumer<GameFinished> finishedHandler;
+    // 반영된 이동 기록 (기록을 끄면 DISABLED)
+    @Getter(AccessLevel.NONE)
+    private final RoomJournal journal;
+    private volatile boolean stopped;
+    // 마지막으로 플레이어 명령(입장/이동/퇴장/동기화/힌트)을 처리한 시각, 유휴 방 정리에 쓴다
+    @Getter(AccessLevel.NONE)
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+    static final int MAX_PLAYERS = 5;
+    private static final int CLOSED = -1;
+    private static final int MAX_MOVES_PER_TICK = 64;
+    private static final int MAX_PENDING_MOVES = 256;
+
+    public GameRoom(String roomId, MazeGrid maze) {
+        this(roomId, maze, room -> { }, result -> { }, RoomJournal.DISABLED);
+    }
+
+    public GameRoom(String roomId, MazeGrid maze, Consumer<GameRoom> seatReleasedHandler,
+                    Consumer<GameFinished> finishedHandler, RoomJournal journal) {
         this.roomId = roomId;
-        this.sharedPosition = Map.of("x", 0, "y", 0);
-        this.obstacles = mazeGenerator.generateRandomObstacles(roomId);
+        this.maze = maze;
+        this.obstaclesJson = new RawValue(maze.getObstaclesJson());
+        this.seatReleasedHandler = seatReleasedHandler;
+        this.finishedHandler = finishedHandler;
+        this.journal = journal;
     }
 
-    public boolean addPlayer(WebSocketSession session) {
-        if (sessions.size() >= MAX_PLAYERS) {
-            return false;
+    // 좌석 수가 expected 일 때만 한 자리를 예약 (CAS)
+    public boolean tryReserveSeat(int expected) {
+        return expected >= 0 && expected < MAX_PLAYERS
+            && reservedSeats.compareAndSet(expected, expected + 1);
+    }
+
+    public int getReservedSeats() {
+        return reservedSeats.get();
+    }
+
+    // 예약된 좌석이 하나도 없을 때만 방을 닫는다, 닫힌 방에는 더 이상 좌석을 예약할 수 없다
+    public boolean tryClose() {
+        return reservedSeats.compareAndSet(0, CLOSED);
+    }
+
+    // 닫힌 방(stop 이후)의 좌석은 stop 이 한꺼번에 돌려줬으므로 다시 반납하지 않는다
+    private void releaseSeat() {
+        while (true) {
+            int seats = reservedSeats.get();
+            if (seats <= 0) {
+                return;
+            }
+            if (reservedSeats.compareAndSet(seats, seats - 1)) {
+                seatReleasedHandler.accept(this);
+                return;
+            }
         }
-        sessions.put(session.getId(), session);
-        log.info("플레이어 추가: {} to room {}", session.getId(), roomId);
-        return true;
     }
 
-    public void removePlayer(String sessionId) {
-        sessions.remove(sessionId);
+    public void start() {
+        Thread.ofVirtual().name("room-" + roomId).start(this::processMailbox);
+    }
+
+    // 방을 닫고 액터를 정지, 닫기 직전까지 예약되어 있던 좌석 수를 돌려준다 (이미 닫혔으면 0)
+    // 메일박스에 남은 퇴장은 이후 좌석을 반납하지 않으므로 좌석 집계는 이 반환값과 releaseSeat 에서 한 번씩만 일어난다
+    public int stop() {
+        int seats = reservedSeats.getAndSet(CLOSED);
+        stopped = true;
+        mailbox.offer(RoomCommand.STOP);
+        return Math.max(0, seats);
+    }
+
+    // 틱 스케줄러가 호출, 반영할 입력이 있으면 표시를 지우고 true (입력이 없는 방은 읽기 한 번으로 끝난다)
+    boolean takeTickPending() {
+        return tickPending.get() && tickPending.getAndSet(false);
+    }
+
+    public void submit(RoomCommand command) {
+        if (stopped) {
+            rejectIfJoin(command);
+            return;
+        }
+        mailbox.offer(command);
+    }
+
+    private void processMailbox() {
+        while (true) {
+            RoomCommand command;
+            try {
+                command = mailbox.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (command instanceof RoomCommand.Stop) {
+                // 정지 후 남은 입장 요청은 연결을 끊어 클라이언트가 다시 접속하게 한다
+                mailbox.forEach(this::rejectIfJoin);
+                mailbox.clear();
+                journal.close();
+                return;
+            }
+            try {
+                handle(command);
+            } catch (Exception e) {
+                log.error("방 {} 명령 처리 중 에러 발생: {}", roomId, e.getMessage(), e);
+            }
+        }
+    }
+
+    public long getIdleMillis() {
+        return System.currentTimeMillis() - lastActivityMillis;
+    }
+
+    private void handle(RoomCommand command) {
+        if (isPlayerActivity(command)) {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+        switch (command) {
+            case RoomCommand.Join join -> handleJoin(join.connection());
+            case RoomCommand.Move move -> {
+                // 위치가 바뀐 경우에만 모든 플레이어에게 전송
+                boolean wasEscaped = escaped;
+                if (updateSharedPosition(move.sessionId(), move.x(), move.y())) {
+                    broadcastSharedPosition();
+                    broadcastExitReachedIfNew(wasEscaped);
+                }
+            }
+            case RoomCommand.QueueMove move -> {
+                if (pendingMoves.size() < MAX_PENDING_MOVES) {
+                    pendingMoves.add(move);
+                    tickPending.set(true);
+                }
+            }
+            case RoomCommand.Tick tick -> {
+                boolean wasEscaped = escaped;
+                if (tick()) {
+                    broadcastSharedPosition();
+                    broadcastExitReachedIfNew(wasEscaped);
+                }
+                // 한 틱에 다 반영하지 못한 입력은 다음 틱으로
+                if (!pendingMoves.isEmpty()) {
+                    tickPending.set(true);
+                }
+            }
+            case RoomCommand.Leave leave -> handleLeave(leave.sessionId());
+            case RoomCommand.Sync sync -> sendMessage(sync.sessionId(), MessageCodec.write(snapshot()));
+            case RoomCommand.Hint hint -> sendMessage(hint.sessionId(), MessageCodec.write(hint()));
+            case RoomCommand.Capture capture -> capture.result().complete(captureState());
+            case RoomCommand.ReleaseSeat release -> releaseSeat();
+            case RoomCommand.Stop stop -> {
+            }
+        }
+    }
+
+    // 틱과 체크포인트(Capture)는 플레이어가 보낸 명령이 아니므로 유휴 시간을 늘리지 않는다
+    private static boolean isPlayerActivity(RoomCommand command) {
+        return command instanceof RoomCommand.Join
+            || command instanceof RoomCommand.Move
+            || command instanceof RoomCommand.QueueMove
+            || command instanceof RoomCommand.Leave
+            || command instanceof RoomCommand.Sync
+            || command instanceof RoomCommand.Hint;
+    }
+
+    private void rejectIfJoin(RoomCommand command) {
+        if (command instanceof RoomCommand.Join join) {
+            closeQuietly(join.connection(), CloseStatus.SERVICE_RESTARTED);
+        }
+    }
+
+    private void handleJoin(PlayerConnection connection) {
+        if (!addPlayer(connection)) {
+            log.warn("방 {} 이 가득 차 입장할 수 없습니다: {}", roomId, connection.getId());
+            closeQuietly(connection, CloseStatus.SERVICE_OVERLOAD);
+            releaseSeat();
+            return;
+        }
+
+        long seq = ++sequence;
+
+        // 입장한 플레이어에게는 미리 직렬화된 장애물 목록과 현재 위치를 포함해 전송
+        GameMessage.Join message = new GameMessage.Join(roomId, seq, connection.getId(), getPlayerCount(),
+            position(), getDistanceToExit(), obstaclesJson);
+        sendMessage(connection.getId(), MessageCodec.write(message));
+
+        // 기존 플레이어는 이미 미로를 받았으므로 입장 정보만 브로드캐스트
+        GameMessage.Join delta = new GameMessage.Join(roomId, seq, connection.getId(), getPlayerCount());
+        broadcastMessage(MessageCodec.write(delta), connection.getId());
+    }
+
+    private void handleLeave(String sessionId) {
+        if (sessions.remove(sessionId) == null) {
+            return;
+        }
         log.info("플레이어 제거: {} from room {}", sessionId, roomId);
+
+        // 퇴장 메시지 브로드캐스트
+        GameMessage.Leave message = new GameMessage.Leave(roomId, ++sequence, sessionId, getPlayerCount());
+        broadcastMessage(MessageCodec.write(message));
+        releaseSeat();
+    }
+
+    private boolean addPlayer(PlayerConnection connection) {
+        if (sessions.size() >= MAX_PLAYERS) {
+            return false;
+        }
+        sessions.put(connection.getId(), connection);
+        log.info("플레이어 추가: {} to room {}", connection.getId(), roomId);
+        return true;
     }
 
     public boolean isFull() {
-        return sessions.size() >= MAX_PLAYERS;
+        return reservedSeats.get() >= MAX_PLAYERS;
     }
 
     public int getPlayerCount() {
         return sessions.size();
     }
 
-    public void updateSharedPosition(Map<String, Object> direction) {
+    public boolean updateSharedPosition(int moveX, int moveY) {
+        return updateSharedPosition(null, moveX, moveY);
+    }
+
+    // 반영된 이동만 기록한다 (매핑된 메모리에 32바이트 쓰기)
+    public boolean updateSharedPosition(String sessionId, int moveX, int moveY) {
         // 현재 위치에서 이동 방향을 더함
-        int currentX = (int) sharedPosition.get("x");
-        int currentY = (int) sharedPosition.get("y");
-        int moveX = (int) direction.get("x");
-        int moveY = (int) direction.get("y");
+        int currentX = positionX;
+        int currentY = positionY;
         
         // 새로운 위치 계산
         int newX = currentX + moveX;
@@ -65,23 +290,43 @@ public class GameRoom {
         
         // 장애물 체크
         if (isObstacleAt(newX, newY)) {
-            log.info("장애물이 있어 이동할 수 없습니다: ({}, {})", newX, newY);
-            return;
+            log.debug("장애물이 있어 이동할 수 없습니다: ({}, {})", newX, newY);
+            return false;
         }
         
         // 경계 체크
-        if(newX < 0 || newY < 0 || newX >= GRID_X_SIZE || newY >= GRID_Y_SIZE) {
-            log.info("위치가 범위를 벗어났습니다. 이동할 수 없습니다.");
-            return;
+        if (!maze.contains(newX, newY)) {
+            log.debug("위치가 범위를 벗어났습니다. 이동할 수 없습니다.");
+            return false;
         }
         
         // 새로운 위치로 업데이트
-        this.sharedPosition = Map.of("x", newX, "y", newY);
-        log.info("공유 위치 업데이트: 현재 위치 ({}, {})에서 ({}, {})로 이동", currentX, currentY, newX, newY);
+        this.positionX = newX;
+        this.positionY = newY;
+        moveCount++;
+        journal.append(sessionId, moveX, moveY, newX, newY);
+        if (maze.isExit(newX, newY)) {
+            escaped = true;
+        }
+        log.debug("공유 위치 업데이트: 현재 위치 ({}, {})에서 ({}, {})로 이동", currentX, currentY, newX, newY);
+        return true;
+    }
+
+    // 큐에 쌓인 입력을 도착 순서대로 반영하고, 위치가 바뀌었으면 true
+    private boolean tick() {
+        boolean moved = false;
+        int applied = 0;
+        RoomCommand.QueueMove move;
+        while (applied < MAX_MOVES_PER_TICK && (move = pendingMoves.poll()) != null) {
+            moved |= updateSharedPosition(move.sessionId(), move.x(), move.y());
+            applied++;
+        }
+        return moved;
     }
 
     public List<Map<String, Object>> getPlayers() {
         List<Map<String, Object>> players = new ArrayList<>();
+        Map<String, Object> sharedPosition = getSharedPosition();
         sessions.forEach((sessionId, session) -> {
             Map<String, Object> player = Map.of(
                 "id", sessionId,
@@ -93,26 +338,134 @@ public class GameRoom {
     }
 
     public Map<String, Object> getSharedPosition() {
-        return sharedPosition;
+        return Map.of("x", positionX, "y", positionY);
+    }
+
+    private GameMessage.Position position() {
+        return new GameMessage.Position(positionX, positionY);
+    }
+
+    // 공유 위치에서 출구까지 남은 칸 수, 모든 플레이어가 위치를 공유하므로 플레이어별 거리도 같다
+    public int getDistanceToExit() {
+        return maze.distanceToExit(positionX, positionY);
     }
 
     public void broadcastMessage(String message) {
-        sessions.forEach((sessionId, session) -> {
-            try {
-                if (session.isOpen()) {
-                    session.sendMessage(new TextMessage(message));
-                }
-            } catch (IOException e) {
-                log.error("메시지 전송 실패: {}", e.getMessage());
+        broadcastMessage(message, null);
+    }
+
+    // 프레임은 한 번만 만들어 모든 세션이 공유한다 (TextMessage 는 불변)
+    // 실제 전송은 세션별 송신 버퍼가 처리하므로 호출 스레드는 막히지 않는다
+    public void broadcastMessage(String message, String excludeSessionId) {
+        TextMessage textMessage = new TextMessage(message);
+        sessions.forEach((sessionId, connection) -> {
+            if (!sessionId.equals(excludeSessionId)) {
+                connection.send(textMessage);
             }
         });
     }
 
+    public void sendMessage(String sessionId, String message) {
+        PlayerConnection connection = sessions.get(sessionId);
+        if (connection != null) {
+            connection.send(new TextMessage(message));
+        }
+    }
+
+    private void broadcastSharedPosition() {
+        long seq = ++sequence;
+        broadcastPositionUpdate(new GameMessage.PositionUpdate(roomId, seq, position(), getDistanceToExit()));
+    }
+
+    // 이번 이동으로 처음 출구에 도달했으면 한 번만 알린다
+    private void broadcastExitReachedIfNew(boolean wasEscaped) {
+        if (wasEscaped || !escaped) {
+            return;
+        }
+        log.info("방 {} 출구 도달: ({}, {})", roomId, positionX, positionY);
+        broadcastMessage(MessageCodec.write(new GameMessage.ExitReached(roomId, ++sequence, position())));
+        finishedHandler.accept(new GameFinished(roomId, maze.getSeed(), playerNames(), moveCount, createdAtMillis,
+            System.currentTimeMillis()));
+    }
+
+    // 체크포인트에서 복원한 방은 start() 전에 상태를 되돌린다
+    // 체크포인트의 플레이어가 재접속할 수 있도록 그 수만큼 좌석을 미리 예약해 둔다 (액터 시작 전에 호출)
+    void restore(RoomState state) {
+        reservedSeats.set(Math.min(state.players().size(), MAX_PLAYERS));
+        this.positionX = state.positionX();
+        this.positionY = state.positionY();
+        this.sequence = state.sequence();
+        this.moveCount = state.moveCount();
+        this.escaped = state.escaped();
+        this.createdAtMillis = state.createdAtMillis();
+    }
+
+    private RoomState captureState() {
+        List<String> players = new ArrayList<>(sessions.size());
+        for (PlayerConnection connection : sessions.values()) {
+            Principal principal = connection.getSession().getPrincipal();
+            if (principal != null) {
+                players.add(principal.getName());
+            }
+        }
+        return new RoomState(roomId, maze, positionX, positionY, sequence, moveCount, escaped, createdAtMillis,
+            players);
+    }
+
+    private List<String> playerNames() {
+        List<String> names = new ArrayList<>(sessions.size());
+        for (PlayerConnection connection : sessions.values()) {
+            Principal principal = connection.getSession().getPrincipal();
+            names.add(principal != null ? principal.getName() : connection.getId());
+        }
+        return names;
+    }
+
+    // 다음 한 칸은 이미 출구에 있거나 도달할 수 없으면 생략한다
+    GameMessage.HintResponse hint() {
+        MazeGrid.Step step = maze.nextStep(positionX, positionY);
+        return new GameMessage.HintResponse(roomId, position(), getDistanceToExit(),
+            step != null ? new GameMessage.Position(step.dx(), step.dy()) : null);
+    }
+
+    GameMessage.Snapshot snapshot() {
+        return new GameMessage.Snapshot(roomId, sequence, position(), getDistanceToExit(), escaped, getPlayerCount(),
+            List.copyOf(sessions.keySet()));
+    }
+
+    // 위치 갱신은 세션이 협상한 프로토콜에 맞춰 JSON 또는 바이너리 프레임으로 보낸다
+    // 두 형식 모두 그 형식을 쓰는 세션이 있을 때만 한 번 만든다
+    private void broadcastPositionUpdate(GameMessage.PositionUpdate update) {
+        TextMessage textMessage = null;
+        byte[] binaryFrame = null;
+        for (PlayerConnection connection : sessions.values()) {
+            if (connection.isBinary()) {
+                if (binaryFrame == null) {
+                    binaryFrame = BinaryProtocol.encodePositionUpdate(update.seq(), positionX, positionY);
+                }
+                connection.sendPosition(new BinaryMessage(binaryFrame));
+            } else {
+                if (textMessage == null) {
+                    textMessage = new TextMessage(MessageCodec.write(update));
+                }
+                connection.sendPosition(textMessage);
+            }
+        }
+    }
+
+    private void closeQuietly(PlayerConnection connection, CloseStatus status) {
+        try {
+            connection.getSession().close(status);
+        } catch (IOException e) {
+            log.error("세션 종료 실패: sessionId={}, error={}", connection.getId(), e.getMessage());
+        }
+    }
+
+    public List<Map<String, Object>> getObstacles() {
+        return maze.toObstacles();
+    }
+
     public boolean isObstacleAt(int x, int y) {
-        return obstacles.stream()
-            .anyMatch(obstacle -> 
-                (int) obstacle.get("x") == x && 
-                (int) obstacle.get("y") == y
-            );
+        return maze.isWall(x, y);
     }
-} 
\ No newline at end of file
+}
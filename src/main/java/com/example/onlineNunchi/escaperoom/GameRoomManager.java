@@ -1,11 +1,33 @@
 package com.example.onlineNunchi.escaperoom;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 
+import com.example.onlineNunchi.cluster.ClusterTopology;
+import com.example.onlineNunchi.cluster.RelayedWebSocketSession;
+import com.example.onlineNunchi.service.GameResultWriter;
+
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
@@ -17,25 +39,273 @@ public class GameRoomManager {
     @Getter
     private final ConcurrentHashMap<String, GameRoom> gameRooms = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, String> sessionRoomMap = new ConcurrentHashMap<>();
-    private final MazeGenerator mazeGenerator;
+    // 빈 자리가 있는 방 인덱스: 예약된 좌석 수(0 ~ MAX_PLAYERS-1)별 버킷
+    // 좌석 수가 바뀔 때 버킷을 옮기며, 어긋난 항목은 매칭 시점에 다시 분류한다.
+    private final List<Set<GameRoom>> openRoomsByOccupancy = IntStream.range(0, GameRoom.MAX_PLAYERS)
+        .<Set<GameRoom>>mapToObj(occupancy -> ConcurrentHashMap.newKeySet())
+        .toList();
+    private final Queue<WebSocketSession> waitingSessions = new ConcurrentLinkedQueue<>();
+    // /api/status 용 카운터, 방 생성/제거와 좌석 예약/반납 시점에 갱신하므로 조회는 O(1)
+    private final LongAdder activeRoomCount = new LongAdder();
+    private final LongAdder activePlayerCount = new LongAdder();
+    // 방 목록이나 좌석 수가 바뀔 때마다 증가 (/api/rooms ETag)
+    private final AtomicLong roomsVersion = new AtomicLong();
+    // 커서 페이지네이션용으로 방 ID 를 정렬해 둔다
+    private final ConcurrentSkipListSet<String> sortedRoomIds = new ConcurrentSkipListSet<>();
+    private final MazePool mazePool;
+    private final OutboundPolicy outboundPolicy;
+    private final GameMetrics gameMetrics;
+    private final ClusterTopology clusterTopology;
+    private final HeartbeatMonitor heartbeatMonitor;
+    private final GameResultWriter gameResultWriter;
+    private final MoveJournal moveJournal;
+
+    // 0 이면 접속 즉시 매칭, 양수면 대기열에 모아 주기적으로 한꺼번에 배정
+    @Value("${game.matchmaking.batch-interval-ms:0}")
+    private long matchmakingBatchMillis;
+
+    private ScheduledExecutorService matchmakingExecutor;
+
+    @PostConstruct
+    public void init() {
+        registerMetrics();
+        startMatchmaking();
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("game.rooms.active", gameRooms, Map::size)
+            .description("활성 방 수")
+            .register(gameMetrics.getRegistry());
+        Gauge.builder("game.sessions.active", sessionRoomMap, Map::size)
+            .description("방에 배정된 세션 수")
+            .register(gameMetrics.getRegistry());
+    }
+
+    private void startMatchmaking() {
+        if (matchmakingBatchMillis <= 0) {
+            return;
+        }
+        matchmakingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matchmaking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        matchmakingExecutor.scheduleWithFixedDelay(this::matchWaitingSessions,
+            matchmakingBatchMillis, matchmakingBatchMillis, TimeUnit.MILLISECONDS);
+        log.info("배치 매칭 시작: {}ms 주기", matchmakingBatchMillis);
+    }
 
+    @PreDestroy
+    public void stopMatchmaking() {
+        if (matchmakingExecutor != null) {
+            matchmakingExecutor.shutdownNow();
+        }
+    }
+
+    // 매칭으로 만드는 방은 항상 이 노드가 소유하도록 해시 링에서 로컬로 떨어지는 ID 를 고른다
     public GameRoom createRoom() {
-        String roomId = UUID.randomUUID().toString();
-        GameRoom room = new GameRoom(roomId, mazeGenerator);
+        String roomId;
+        do {
+            roomId = UUID.randomUUID().toString();
+        } while (!clusterTopology.isLocal(roomId));
+        MazeGrid maze = mazePool.acquire();
+        GameRoom room = new GameRoom(roomId, maze, this::onSeatReleased, gameResultWriter::submit,
+            moveJournal.open(roomId, maze));
         gameRooms.put(roomId, room);
+        sortedRoomIds.add(roomId);
+        activeRoomCount.increment();
+        roomsVersion.incrementAndGet();
+        heartbeatMonitor.watchRoom(room);
+        room.start();
         log.info("새로운 게임방 생성: {}", roomId);
         return room;
     }
 
-    public GameRoom findAvailableRoom() {
-        // 비어있는 방이 있는지 확인
-        for (GameRoom room : gameRooms.values()) {
-            if (!room.isFull()) {
-                return room;
+    // 체크포인트에서 읽은 방을 같은 ID 로 다시 만든다, 이미 있거나 이 노드 소유가 아니면 null
+    public GameRoom restoreRoom(RoomState state) {
+        if (!clusterTopology.isLocal(state.roomId()) || gameRooms.containsKey(state.roomId())) {
+            return null;
+        }
+        GameRoom room = new GameRoom(state.roomId(), state.maze(), this::onSeatReleased, gameResultWriter::submit,
+            moveJournal.open(state.roomId(), state.maze()));
+        // 체크포인트의 플레이어 좌석은 재접속하거나 제한 시간이 지나 releaseHeldSeat 가 불릴 때까지 잡아 둔다
+        room.restore(state);
+        gameRooms.put(state.roomId(), room);
+        sortedRoomIds.add(state.roomId());
+        activeRoomCount.increment();
+        activePlayerCount.add(room.getReservedSeats());
+        roomsVersion.incrementAndGet();
+        heartbeatMonitor.watchRoom(room);
+        indexRoom(room);
+        room.start();
+        return room;
+    }
+
+    // 체크포인트 복원 때 잡아 둔 좌석으로 원래 방에 입장, 방이 이미 없으면 false
+    public boolean resumeRoom(WebSocketSession session, String roomId) {
+        GameRoom room = gameRooms.get(roomId);
+        if (room == null) {
+            return false;
+        }
+        enterRoom(session, room, false);
+        return true;
+    }
+
+    // 재접속하지 않은 플레이어의 잡아 둔 좌석을 방 액터가 반납
+    public void releaseHeldSeat(String roomId) {
+        GameRoom room = gameRooms.get(roomId);
+        if (room != null) {
+            room.submit(RoomCommand.RELEASE_SEAT);
+        }
+    }
+
+    // 새 플레이어를 빈 자리가 있는 방에 배정 (배치 매칭이 켜져 있으면 대기열에 넣는다)
+    public void matchPlayer(WebSocketSession session) {
+        if (matchmakingBatchMillis > 0) {
+            waitingSessions.offer(session);
+            return;
+        }
+        assignRoom(session);
+    }
+
+    private void matchWaitingSessions() {
+        try {
+            WebSocketSession session;
+            while ((session = waitingSessions.poll()) != null) {
+                if (session.isOpen()) {
+                    assignRoom(session);
+                }
             }
+        } catch (Exception e) {
+            log.error("배치 매칭 중 에러 발생: {}", e.getMessage(), e);
         }
-        // 모든 방이 가득 찼다면 새 방 생성
-        return createRoom();
+    }
+
+    // 지정한 방에 입장 (다른 노드에서 중계된 세션 포함), 방이 없거나 가득 찼으면 false
+    public boolean joinRoom(WebSocketSession session, String roomId) {
+        GameRoom room = gameRooms.get(roomId);
+        if (room == null) {
+            return false;
+        }
+        while (true) {
+            int occupancy = room.getReservedSeats();
+            if (occupancy < 0 || occupancy >= GameRoom.MAX_PLAYERS) {
+                return false;
+            }
+            if (room.tryReserveSeat(occupancy)) {
+                openRoomsByOccupancy.get(occupancy).remove(room);
+                indexRoom(room);
+                break;
+            }
+        }
+        enterRoom(session, room, true);
+        return true;
+    }
+
+    private GameRoom assignRoom(WebSocketSession session) {
+        GameRoom room = reserveSeat();
+        enterRoom(session, room, true);
+        return room;
+    }
+
+    // newSeat: 이번에 새로 예약한 좌석이면 true, 복원 때 잡아 둔 좌석(이미 집계됨)이면 false
+    private void enterRoom(WebSocketSession session, GameRoom room, boolean newSeat) {
+        sessionRoomMap.put(session.getId(), room.getRoomId());
+        if (newSeat) {
+            activePlayerCount.increment();
+        }
+        roomsVersion.incrementAndGet();
+        PlayerConnection connection = outboundPolicy.wrap(session);
+        // 중계된 세션은 접속 노드에 실제 소켓이 있으므로 하트비트 대상이 아니다
+        if (!(session instanceof RelayedWebSocketSession)) {
+            heartbeatMonitor.watch(connection);
+        }
+        room.submit(new RoomCommand.Join(connection));
+        gameMetrics.getJoins().increment();
+        log.info("플레이어 {} 가 방 {} 에 입장 요청", session.getId(), room.getRoomId());
+    }
+
+    // 사람이 많은 방부터 채운다, 버킷 수가 고정이므로 방 개수와 무관하게 상수 시간
+    private GameRoom reserveSeat() {
+        for (int occupancy = GameRoom.MAX_PLAYERS - 1; occupancy >= 0; occupancy--) {
+            Set<GameRoom> bucket = openRoomsByOccupancy.get(occupancy);
+            for (GameRoom room : bucket) {
+                bucket.remove(room);
+                if (room.getReservedSeats() == occupancy && room.tryReserveSeat(occupancy)) {
+                    indexRoom(room);
+                    return room;
+                }
+                // 다른 스레드가 먼저 좌석을 바꿨으면 현재 좌석 수에 맞는 버킷으로 옮긴다
+                indexRoom(room);
+            }
+        }
+
+        // 빈 자리가 없으면 새 방 생성 (인덱스에 넣기 전이므로 예약은 항상 성공)
+        GameRoom room = createRoom();
+        room.tryReserveSeat(0);
+        indexRoom(room);
+        return room;
+    }
+
+    private void indexRoom(GameRoom room) {
+        int occupancy = room.getReservedSeats();
+        if (occupancy >= 0 && occupancy < GameRoom.MAX_PLAYERS) {
+            openRoomsByOccupancy.get(occupancy).add(room);
+        }
+    }
+
+    // 방 액터가 퇴장을 처리하고 좌석을 반납한 뒤 호출
+    private void onSeatReleased(GameRoom room) {
+        activePlayerCount.decrement();
+        roomsVersion.incrementAndGet();
+        // 그 사이 제거된 방은 다시 인덱스에 넣지 않는다
+        if (gameRooms.get(room.getRoomId()) != room) {
+            return;
+        }
+        int occupancy = room.getReservedSeats();
+        if (occupancy + 1 < GameRoom.MAX_PLAYERS) {
+            openRoomsByOccupancy.get(occupancy + 1).remove(room);
+        }
+        if (occupancy == 0 && room.tryClose()) {
+            openRoomsByOccupancy.get(0).remove(room);
+            if (gameRooms.remove(room.getRoomId(), room)) {
+                sortedRoomIds.remove(room.getRoomId());
+                activeRoomCount.decrement();
+                heartbeatMonitor.unwatchRoom(room);
+                room.stop();
+                log.info("게임방 제거: {}", room.getRoomId());
+            }
+            return;
+        }
+        indexRoom(room);
+    }
+
+    public long getActiveRoomCount() {
+        return activeRoomCount.sum();
+    }
+
+    public long getActivePlayerCount() {
+        return activePlayerCount.sum();
+    }
+
+    public long getRoomsVersion() {
+        return roomsVersion.get();
+    }
+
+    // 방 ID 순으로 cursor 다음부터 최대 limit 개, availableOnly 면 빈 자리가 있는 방만
+    public List<GameRoom> listRooms(String cursor, int limit, boolean availableOnly) {
+        List<GameRoom> page = new ArrayList<>(Math.min(limit, 64));
+        Set<String> roomIds = cursor == null ? sortedRoomIds : sortedRoomIds.tailSet(cursor, false);
+        for (String roomId : roomIds) {
+            if (page.size() >= limit) {
+                break;
+            }
+            GameRoom room = gameRooms.get(roomId);
+            if (room != null && !(availableOnly && room.isFull())) {
+                page.add(room);
+            }
+        }
+        return page;
     }
 
     public GameRoom getRoom(String roomId) {
@@ -43,28 +313,44 @@ public class GameRoomManager {
     }
 
     public void removeRoom(String roomId) {
-        gameRooms.remove(roomId);
-        log.info("게임방 제거: {}", roomId);
+        GameRoom room = gameRooms.remove(roomId);
+        if (room != null) {
+            // 방을 먼저 닫아 좌석 예약과 반납을 막은 뒤 남아 있던 좌석만 뺀다
+            // (메일박스에 남은 퇴장은 닫힌 방에서 좌석을 반납하지 않으므로 두 번 빠지지 않는다)
+            activePlayerCount.add(-room.stop());
+            openRoomsByOccupancy.forEach(bucket -> bucket.remove(room));
+            sortedRoomIds.remove(roomId);
+            activeRoomCount.decrement();
+            roomsVersion.incrementAndGet();
+            heartbeatMonitor.unwatchRoom(room);
+            log.info("게임방 제거: {}", roomId);
+        }
     }
 
-    public void addPlayerToRoom(WebSocketSession session, String roomId) {
-        GameRoom room = gameRooms.get(roomId);
-        if (room != null && room.addPlayer(session)) {
-            sessionRoomMap.put(session.getId(), roomId);
-            log.info("플레이어 {} 가 방 {} 에 입장", session.getId(), roomId);
+    // 오래 활동이 없는 방의 플레이어 연결을 모두 끊고 방을 제거
+    public void reapRoom(GameRoom room) {
+        log.info("유휴 게임방 정리: {}, 유휴 {}ms", room.getRoomId(), room.getIdleMillis());
+        for (PlayerConnection connection : room.getSessions().values()) {
+            heartbeatMonitor.unwatch(connection.getId());
+            sessionRoomMap.remove(connection.getId(), room.getRoomId());
+            // 하트비트 휠 스레드에서 불리므로 close 프레임 전송은 가상 스레드로 넘긴다
+            Thread.ofVirtual().start(() -> connection.close(CloseStatus.GOING_AWAY));
         }
+        removeRoom(room.getRoomId());
     }
 
     public void removePlayerFromRoom(String sessionId) {
+        if (matchmakingBatchMillis > 0) {
+            waitingSessions.removeIf(waiting -> waiting.getId().equals(sessionId));
+        }
+        heartbeatMonitor.unwatch(sessionId);
         String roomId = sessionRoomMap.remove(sessionId);
         if (roomId != null) {
             GameRoom room = gameRooms.get(roomId);
             if (room != null) {
-                room.removePlayer(sessionId);
-                // 방이 비어있으면 방 제거
-                if (room.getPlayerCount() == 0) {
-                    removeRoom(roomId);
-                }
+                // 좌석 반납과 빈 방 정리는 방 액터가 퇴장을 처리한 뒤 onSeatReleased 로 이어진다
+                room.submit(new RoomCommand.Leave(sessionId));
+                gameMetrics.getLeaves().increment();
             }
         }
     }
@@ -73,4 +359,4 @@ public class GameRoomManager {
         String roomId = sessionRoomMap.get(sessionId);
         return roomId != null ? gameRooms.get(roomId) : null;
     }
-} 
\ No newline at end of file
+}
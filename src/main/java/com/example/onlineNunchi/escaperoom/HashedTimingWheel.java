@@ -0,0 +1,56 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+// 해시드 타이밍 휠: 항목을 슬롯 하나에 넣어 두고 틱마다 현재 슬롯 하나만 돌아본다
+// 항목이 수천 개여도 틱당 작업은 그 슬롯의 항목뿐이고, 각 항목은 한 바퀴(slots 틱)에 한 번씩 방문된다.
+// advance 는 한 스레드에서만 호출하고, add/remove 는 어느 스레드에서나 호출할 수 있다.
+final class HashedTimingWheel<T> {
+    private final List<Set<T>> slots;
+    private final ConcurrentHashMap<T, Integer> slotOf = new ConcurrentHashMap<>();
+    private volatile int cursor;
+
+    HashedTimingWheel(int slotCount) {
+        this.slots = IntStream.range(0, Math.max(1, slotCount))
+            .<Set<T>>mapToObj(slot -> ConcurrentHashMap.newKeySet())
+            .toList();
+    }
+
+    // 방금 지나간 슬롯에 넣으므로 첫 방문은 거의 한 바퀴 뒤
+    void add(T item) {
+        int slot = Math.floorMod(cursor - 1, slots.size());
+        if (slotOf.putIfAbsent(item, slot) == null) {
+            slots.get(slot).add(item);
+        }
+    }
+
+    void remove(T item) {
+        Integer slot = slotOf.remove(item);
+        if (slot != null) {
+            slots.get(slot).remove(item);
+        }
+    }
+
+    // 현재 슬롯의 항목을 방문하고 다음 슬롯으로 이동, visitor 가 false 를 돌려준 항목은 휠에서 뺀다
+    void advance(Predicate<T> visitor) {
+        int current = cursor;
+        Iterator<T> iterator = slots.get(current).iterator();
+        while (iterator.hasNext()) {
+            T item = iterator.next();
+            if (!visitor.test(item)) {
+                iterator.remove();
+                slotOf.remove(item, current);
+            }
+        }
+        cursor = (current + 1) % slots.size();
+    }
+
+    int size() {
+        return slotOf.size();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 하트비트(ping/pong)로 끊긴 연결을 찾아내고 오래 활동이 없는 방을 정리
+// 모바일 클라이언트의 반쯤 열린 TCP 연결은 afterConnectionClosed 가 오지 않아 방과 좌석을 계속 잡고 있으므로,
+// 세션마다 interval-ms 주기로 ping 을 보내고 missed-limit 번 연속 응답(pong 또는 아무 메시지)이 없으면 끊는다.
+// 세션과 방은 각각 타이밍 휠에 올려 틱마다 슬롯 하나만 확인한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeartbeatMonitor {
+
+    private final GameMetrics gameMetrics;
+    // GameRoomManager 가 이 빈에 의존하므로 순환을 피하려고 지연 조회
+    private final ObjectProvider<GameRoomManager> gameRoomManager;
+
+    @Value("${game.heartbeat.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.heartbeat.interval-ms:10000}")
+    private long intervalMillis;
+
+    @Value("${game.heartbeat.missed-limit:3}")
+    private int missedLimit;
+
+    @Value("${game.heartbeat.wheel-slots:64}")
+    private int wheelSlots;
+
+    // 입장/이동/퇴장/동기화 명령이 이 시간 동안 없으면 방을 정리 (0 이하면 정리하지 않음)
+    @Value("${game.rooms.idle-ttl-ms:600000}")
+    private long roomIdleTtlMillis;
+
+    // ping 과 만료 처리는 휠 스레드 밖(가상 스레드)에서 실행된다
+    private static final class Heartbeat {
+        private final Runnable ping;
+        private final Runnable evict;
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        private Heartbeat(Runnable ping, Runnable evict) {
+            this.ping = ping;
+            this.evict = evict;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Heartbeat> heartbeats = new ConcurrentHashMap<>();
+    private final LongAdder deadSessions = new LongAdder();
+    private final LongAdder reapedRooms = new LongAdder();
+    private HashedTimingWheel<String> sessionWheel;
+    private HashedTimingWheel<GameRoom> roomWheel;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        FunctionCounter.builder("game.heartbeat.evicted", deadSessions, LongAdder::sum)
+            .description("하트비트 응답이 없어 끊은 세션 수")
+            .register(gameMetrics.getRegistry());
+        FunctionCounter.builder("game.rooms.reaped", reapedRooms, LongAdder::sum)
+            .description("활동이 없어 정리한 방 수")
+            .register(gameMetrics.getRegistry());
+        if (!enabled) {
+            return;
+        }
+
+        sessionWheel = new HashedTimingWheel<>(wheelSlots);
+        roomWheel = new HashedTimingWheel<>(wheelSlots);
+        long tickMillis = Math.max(1, intervalMillis / Math.max(1, wheelSlots));
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("하트비트 시작: 주기 {}ms, 허용 누락 {}회, 방 유휴 제한 {}ms", intervalMillis, missedLimit, roomIdleTtlMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public void watch(PlayerConnection connection) {
+        String sessionId = connection.getId();
+        watch(sessionId, new Heartbeat(connection::ping, () -> {
+            // 반쯤 열린 연결은 afterConnectionClosed 가 늦거나 오지 않으므로 소켓을 닫기 전에 먼저 퇴장 처리
+            gameRoomManager.getObject().removePlayerFromRoom(sessionId);
+            connection.close(CloseStatus.SESSION_NOT_RELIABLE);
+        }));
+    }
+
+    // 다른 노드의 방으로 중계 중인 접속 노드 쪽 소켓, 응답이 없으면 onEvicted 로 소유 노드에 퇴장을 알린 뒤 닫는다
+    public void watchRelayed(WebSocketSession session, Runnable onEvicted) {
+        String sessionId = session.getId();
+        watch(sessionId, new Heartbeat(() -> {
+            try {
+                session.sendMessage(new PingMessage(ByteBuffer.allocate(0)));
+            } catch (IOException | RuntimeException e) {
+                log.error("중계 세션 ping 실패: sessionId={}, error={}", sessionId, e.getMessage());
+            }
+        }, () -> {
+            onEvicted.run();
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.error("세션 종료 실패: sessionId={}, error={}", sessionId, e.getMessage());
+            }
+        }));
+    }
+
+    private void watch(String sessionId, Heartbeat heartbeat) {
+        if (!enabled) {
+            return;
+        }
+        heartbeats.put(sessionId, heartbeat);
+        sessionWheel.add(sessionId);
+    }
+
+    public void unwatch(String sessionId) {
+        if (!enabled) {
+            return;
+        }
+        heartbeats.remove(sessionId);
+        sessionWheel.remove(sessionId);
+    }
+
+    public void watchRoom(GameRoom room) {
+        if (enabled && roomIdleTtlMillis > 0) {
+            roomWheel.add(room);
+        }
+    }
+
+    public void unwatchRoom(GameRoom room) {
+        if (enabled && roomIdleTtlMillis > 0) {
+            roomWheel.remove(room);
+        }
+    }
+
+    // pong 이나 클라이언트 메시지를 받으면 살아 있는 것으로 본다
+    public void touch(String sessionId) {
+        Heartbeat heartbeat = heartbeats.get(sessionId);
+        if (heartbeat != null) {
+            heartbeat.lastSeenNanos = System.nanoTime();
+        }
+    }
+
+    public long getDeadSessions() {
+        return deadSessions.sum();
+    }
+
+    public long getReapedRooms() {
+        return reapedRooms.sum();
+    }
+
+    private void tick() {
+        try {
+            sessionWheel.advance(this::checkSession);
+            roomWheel.advance(this::checkRoom);
+        } catch (Exception e) {
+            log.error("하트비트 처리 중 에러 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean checkSession(String sessionId) {
+        Heartbeat heartbeat = heartbeats.get(sessionId);
+        if (heartbeat == null) {
+            return false;
+        }
+        long silentNanos = System.nanoTime() - heartbeat.lastSeenNanos;
+        if (silentNanos > TimeUnit.MILLISECONDS.toNanos(intervalMillis * missedLimit)) {
+            heartbeats.remove(sessionId);
+            deadSessions.increment();
+            log.warn("하트비트 응답 없음, 연결 종료: sessionId={}, 무응답 {}ms", sessionId,
+                TimeUnit.NANOSECONDS.toMillis(silentNanos));
+            // 끊긴 소켓에 close 프레임을 쓰다 막힐 수 있으므로 휠 스레드 밖에서 정리하고 닫는다
+            Thread.ofVirtual().start(heartbeat.evict);
+            return false;
+        }
+        // 한 세션의 전송이 막혀도 같은 슬롯의 다른 세션 확인이 밀리지 않도록 ping 도 휠 스레드 밖에서
+        Thread.ofVirtual().start(heartbeat.ping);
+        return true;
+    }
+
+    private boolean checkRoom(GameRoom room) {
+        GameRoomManager manager = gameRoomManager.getObject();
+        if (manager.getRoom(room.getRoomId()) != room) {
+            return false;
+        }
+        if (room.getIdleMillis() > roomIdleTtlMillis) {
+            reapedRooms.increment();
+            manager.reapRoom(room);
+            return false;
+        }
+        return true;
+    }
+}
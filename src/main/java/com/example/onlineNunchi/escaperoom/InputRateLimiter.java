@@ -0,0 +1,209 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 세션별 수신 메시지 속도 제한
+// JSON 파싱 전에 type 값만 훑어(바이너리는 첫 바이트) MOVE 와 그 외 메시지를 각각의 토큰 버킷으로 거른다.
+// 거절은 CAS 한 번과 카운터 증가뿐이고 로그를 남기지 않는다.
+// window-ms 동안 거절이 max-violations 번을 넘은 세션은 POLICY_VIOLATION 으로 연결을 끊는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InputRateLimiter {
+    private static final CloseStatus RATE_LIMITED = CloseStatus.POLICY_VIOLATION.withReason("rate limit exceeded");
+
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.rate-limit.move.rate-per-second:30}")
+    private int moveRatePerSecond;
+
+    @Value("${game.rate-limit.move.burst:15}")
+    private int moveBurst;
+
+    // SYNC, HINT 등 MOVE 가 아닌 메시지 (SNAPSHOT 처럼 응답이 큰 요청이 많다)
+    @Value("${game.rate-limit.other.rate-per-second:2}")
+    private int otherRatePerSecond;
+
+    @Value("${game.rate-limit.other.burst:5}")
+    private int otherBurst;
+
+    @Value("${game.rate-limit.max-violations:100}")
+    private int maxViolations;
+
+    @Value("${game.rate-limit.window-ms:10000}")
+    private long windowMillis;
+
+    private final ConcurrentHashMap<String, SessionLimits> sessionLimits = new ConcurrentHashMap<>();
+    private final LongAdder throttledMoves = new LongAdder();
+    private final LongAdder throttledOthers = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+
+    private final class SessionLimits {
+        private final TokenBucket moves;
+        private final TokenBucket others;
+        // 상위 32비트: 현재 창 번호, 하위 32비트: 그 창에서의 거절 수
+        private final AtomicLong violations = new AtomicLong();
+
+        private SessionLimits(long nowMillis) {
+            this.moves = new TokenBucket(moveRatePerSecond, moveBurst, nowMillis);
+            this.others = new TokenBucket(otherRatePerSecond, otherBurst, nowMillis);
+        }
+
+        // 이번 거절로 창 안의 거절 수가 한도에 막 도달했으면 true (한 번만)
+        private boolean recordViolation(long nowMillis) {
+            long window = nowMillis / windowMillis;
+            while (true) {
+                long current = violations.get();
+                long count = (current >>> 32) == window ? (current & 0xFFFFFFFFL) + 1 : 1;
+                if (violations.compareAndSet(current, window << 32 | count)) {
+                    return count == maxViolations;
+                }
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        windowMillis = Math.max(1, windowMillis);
+        FunctionCounter.builder("game.ws.throttled", throttledMoves, LongAdder::sum)
+            .tag("type", "MOVE")
+            .description("속도 제한으로 버린 수신 메시지 수")
+            .register(gameMetrics.getRegistry());
+        FunctionCounter.builder("game.ws.throttled", throttledOthers, LongAdder::sum)
+            .tag("type", "OTHER")
+            .description("속도 제한으로 버린 수신 메시지 수")
+            .register(gameMetrics.getRegistry());
+        FunctionCounter.builder("game.ws.throttle.closed", closedSessions, LongAdder::sum)
+            .description("속도 제한을 반복해서 넘겨 끊은 세션 수")
+            .register(gameMetrics.getRegistry());
+    }
+
+    // 처리해도 되면 true, 버려야 하면 false (텍스트/바이너리 외의 메시지는 제한하지 않는다)
+    public boolean tryAccept(WebSocketSession session, WebSocketMessage<?> message) {
+        if (!enabled) {
+            return true;
+        }
+        boolean move;
+        if (message instanceof TextMessage textMessage) {
+            move = isMoveText(textMessage.getPayload());
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer frame = binaryMessage.getPayload();
+            move = frame.hasRemaining() && frame.get(frame.position()) == BinaryProtocol.OP_MOVE;
+        } else {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        SessionLimits limits = sessionLimits.computeIfAbsent(session.getId(), id -> new SessionLimits(now));
+        if ((move ? limits.moves : limits.others).tryAcquire(now)) {
+            return true;
+        }
+        (move ? throttledMoves : throttledOthers).increment();
+        if (limits.recordViolation(now)) {
+            closedSessions.increment();
+            log.warn("속도 제한 반복 초과로 연결 종료: sessionId={}, {}ms 안에 {}회 거절", session.getId(), windowMillis,
+                maxViolations);
+            try {
+                session.close(RATE_LIMITED);
+            } catch (IOException e) {
+                log.error("세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    public void remove(String sessionId) {
+        sessionLimits.remove(sessionId);
+    }
+
+    public long getThrottledMessages() {
+        return throttledMoves.sum() + throttledOthers.sum();
+    }
+
+    public long getClosedSessions() {
+        return closedSessions.sum();
+    }
+
+    // {"type":"MOVE", ...} 인지 파싱 없이 확인
+    // 중첩 객체 안의 "type" 으로 SYNC/HINT 를 MOVE 버킷에 태우지 못하도록 최상위 키만 본다.
+    // 문자열 안의 중괄호는 건너뛰고, 키가 여러 번 나오면 MessageCodec 처럼 마지막 값을 따른다.
+    // 최상위 type 을 찾지 못하면 더 엄격한 MOVE 외 버킷으로 센다.
+    static boolean isMoveText(String payload) {
+        int length = payload.length();
+        int index = skipWhitespace(payload, 0);
+        if (index >= length || payload.charAt(index) != '{') {
+            return false;
+        }
+        int depth = 0;
+        boolean move = false;
+        while (index < length) {
+            char c = payload.charAt(index);
+            if (c == '"') {
+                int stringStart = index + 1;
+                index = skipString(payload, stringStart);
+                if (depth != 1) {
+                    continue;
+                }
+                int stringEnd = index - 1;
+                int next = skipWhitespace(payload, index);
+                if (next >= length || payload.charAt(next) != ':') {
+                    continue;
+                }
+                if (payload.startsWith("type", stringStart) && stringEnd - stringStart == 4) {
+                    int value = skipWhitespace(payload, next + 1);
+                    move = payload.startsWith("\"MOVE\"", value);
+                }
+                index = next + 1;
+            } else {
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                index++;
+            }
+        }
+        return move;
+    }
+
+    // 여는 따옴표 다음 위치에서 시작해 닫는 따옴표 다음 위치를 돌려준다 (이스케이프된 따옴표는 건너뜀)
+    private static int skipString(String payload, int index) {
+        int length = payload.length();
+        while (index < length) {
+            char c = payload.charAt(index++);
+            if (c == '\\') {
+                index++;
+            } else if (c == '"') {
+                return index;
+            }
+        }
+        return length;
+    }
+
+    private static int skipWhitespace(String payload, int index) {
+        while (index < payload.length() && Character.isWhitespace(payload.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
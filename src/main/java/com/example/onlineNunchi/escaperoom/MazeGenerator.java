@@ -1,168 +1,169 @@
 package com.example.onlineNunchi.escaperoom;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+// 랜덤 Prim 알고리즘 기반 미로 생성기
+// 그리드는 long[] 비트셋 하나로만 다루고, 벽 후보 목록(frontier)은 int[] 에 (셀 인덱스 << 3 | 방향) 으로 압축해 저장한다.
+// 후보는 임의 위치에서 꺼낸 뒤 마지막 원소로 메우므로(swap-remove) 꺼내기가 O(1) 이다.
 @Slf4j
 @Component
 public class MazeGenerator {
-    private static final int GRID_ROWS = 21;     // 세로 길이 (행의 수)
-    private static final int GRID_COLUMNS = 31;  // 가로 길이 (열의 수)
-    private static final int WALL = 1;
-    private static final int PASSAGE = 0;
-    private static final Random random = new Random();
     private static final int MAX_ATTEMPTS = 10;  // 미로 생성 최대 시도 횟수
+    private static final int MIN_SIZE = 3;
 
-    private static class Cell {
-        final int r;
-        final int c;
+    // frontier 원소의 하위 3비트: 이전 셀에서 대상 셀로 향하는 방향 (상, 좌, 하, 우), START 는 시작 셀
+    private static final int UP = 0;
+    private static final int LEFT = 1;
+    private static final int DOWN = 2;
+    private static final int RIGHT = 3;
+    private static final int START = 4;
 
-        Cell(int r, int c) {
-            this.r = r;
-            this.c = c;
-        }
+    @Value("${game.maze.rows:21}")
+    private int rows = 21;        // 세로 길이 (행의 수)
+
+    @Value("${game.maze.columns:31}")
+    private int columns = 31;     // 가로 길이 (열의 수)
+
+    private final Timer generationTimer;
+    private final Counter retryCounter;
+
+    // 스프링 밖(벤치마크 등)에서 쓰는 경우 전역 레지스트리에 기록
+    public MazeGenerator() {
+        this(Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public MazeGenerator(MeterRegistry registry) {
+        this.generationTimer = Timer.builder("game.maze.generation")
+            .description("미로 생성 시간")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.retryCounter = Counter.builder("game.maze.retries")
+            .description("경로가 없어 다시 생성한 횟수")
+            .register(registry);
+    }
+
+    // 같은 시드와 크기는 항상 같은 미로를 만든다
+    public MazeGrid generateMaze(long seed) {
+        return generateMaze(seed, columns, rows);
     }
 
-    public List<Map<String, Object>> generateRandomObstacles(String roomId) {
+    public MazeGrid generateMaze(long seed, int columns, int rows) {
+        long start = System.nanoTime();
         try {
-            int[][] maze = null;
-            int attempts = 0;
-            
-            // 유효한 미로가 생성될 때까지 시도
-            while (attempts < MAX_ATTEMPTS) {
-                // 모든 셀을 벽(1)으로 초기화
-                maze = new int[GRID_ROWS][GRID_COLUMNS];
-                for (int i = 0; i < GRID_ROWS; i++) {
-                    Arrays.fill(maze[i], WALL);
-                }
-
-                // 미로 생성
-                makeMaze(maze);
-
-                // 입구와 출구 설정
-                maze[0][0] = PASSAGE;
-                maze[GRID_ROWS-2][GRID_COLUMNS-2] = PASSAGE; // 출구
-
-                // BFS로 경로 존재 여부 확인
-                if (hasPathToExit(maze)) {
-                    break;
-                }
-                
-                attempts++;
-                log.warn("방 {}의 미로 생성 시도 {}: 유효한 경로를 찾지 못했습니다.", roomId, attempts);
-            }
+            return generate(seed, columns, rows);
+        } finally {
+            generationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            if (attempts >= MAX_ATTEMPTS) {
-                log.error("방 {}의 미로 생성 실패: 최대 시도 횟수 초과", roomId);
-                return Collections.emptyList();
+    private MazeGrid generate(long seed, int columns, int rows) {
+        if (columns < MIN_SIZE || rows < MIN_SIZE) {
+            throw new IllegalArgumentException("미로 크기는 최소 " + MIN_SIZE + "x" + MIN_SIZE + " 이어야 합니다.");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int cells = columns * rows;
+        int exit = MazeGrid.exitIndex(columns, rows);
+        long[] walls = new long[MazeGrid.wordsFor(cells)];
+        int[] frontier = new int[Math.max(16, cells / 2)];
+        int[] queue = new int[cells];
+        int[] distances = new int[cells];
+
+        // 유효한 미로가 생성될 때까지 시도
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            // 모든 셀을 벽으로 초기화 (그리드 밖의 남는 비트는 0 으로 유지)
+            Arrays.fill(walls, -1L);
+            int tail = cells & 63;
+            if (tail != 0) {
+                walls[walls.length - 1] = (1L << tail) - 1;
             }
 
-            // 벽을 장애물로 변환
-            List<Map<String, Object>> obstacles = new ArrayList<>();
-            for (int row = 0; row < GRID_ROWS; row++) {
-                for (int col = 0; col < GRID_COLUMNS; col++) {
-                    if (maze[row][col] == WALL) {
-                        obstacles.add(Map.of(
-                            "x", col,  // x는 열(가로) 좌표
-                            "y", row,  // y는 행(세로) 좌표
-                            "type", "obstacle"
-                        ));
-                    }
-                }
-            }
+            frontier = makeMaze(walls, frontier, columns, rows, random);
+
+            // 입구와 출구 설정
+            clear(walls, 0);
+            clear(walls, exit);
 
-            log.info("방 {}에 미로 생성 완료: 시작점(0,0)에서 출구({},{})까지 경로가 존재합니다.", 
-                roomId, GRID_COLUMNS-2, GRID_ROWS-2);
-            return obstacles;
-        } catch (Exception e) {
-            log.error("미로 생성 중 오류 발생: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            // 출구에서 BFS 로 모든 셀의 거리를 구하고, 시작점에 닿으면 유효한 미로
+            // 계산한 거리는 버리지 않고 미로에 붙여 힌트와 출구 판정에 쓴다
+            DistanceField.fill(walls, columns, rows, exit, queue, distances);
+            if (distances[0] != DistanceField.UNREACHABLE) {
+                log.debug("시드 {}의 미로 생성 완료: {}x{}, 시작점(0,0)에서 출구({},{})까지 {}칸",
+                    seed, columns, rows, columns - 2, rows - 2, distances[0]);
+                return new MazeGrid(seed, columns, rows, walls, DistanceField.of(distances));
+            }
+            retryCounter.increment();
+            log.warn("시드 {}의 미로 생성 시도 {}: 유효한 경로를 찾지 못했습니다.", seed, attempt);
         }
+
+        log.error("시드 {}의 미로 생성 실패: 최대 시도 횟수 초과", seed);
+        return MazeGrid.empty(seed, columns, rows);
     }
 
-    private boolean hasPathToExit(int[][] maze) {
-        boolean[][] visited = new boolean[GRID_ROWS][GRID_COLUMNS];
-        Queue<int[]> queue = new LinkedList<>();
-        
-        // 시작점 설정
-        queue.add(new int[]{0, 0});
-        visited[0][0] = true;
-        
-        // 4방향 이동 (상, 하, 좌, 우)
-        int[] dx = {-1, 1, 0, 0};
-        int[] dy = {0, 0, -1, 1};
-        
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            int row = current[0];
-            int col = current[1];
-            
-            // 출구에 도달했는지 확인
-            if (row == GRID_ROWS-2 && col == GRID_COLUMNS-2) {
-                return true;
+    // 채워진 frontier 배열을 돌려준다 (다음 시도에서 재사용)
+    private int[] makeMaze(long[] walls, int[] frontier, int columns, int rows, SplittableRandom random) {
+        int[] step = {-2 * columns, -2, 2 * columns, 2};
+        int size = 0;
+        frontier[size++] = START;
+
+        while (size > 0) {
+            // 랜덤하게 벽 선택 후 마지막 원소로 빈자리를 메움
+            int pick = random.nextInt(size);
+            int entry = frontier[pick];
+            frontier[pick] = frontier[--size];
+
+            int cell = entry >>> 3;
+            int direction = entry & 7;
+            if (!isSet(walls, cell)) {
+                continue;
+            }
+
+            int r = cell / columns;
+            int c = cell - r * columns;
+
+            // 새로운 벽 후보 추가 (최대 4개)
+            if (size + 4 > frontier.length) {
+                frontier = Arrays.copyOf(frontier, frontier.length * 2);
             }
-            
-            // 4방향 탐색
-            for (int i = 0; i < 4; i++) {
-                int newRow = row + dx[i];
-                int newCol = col + dy[i];
-                
-                if (isValidPosition(newRow, newCol) && 
-                    maze[newRow][newCol] == PASSAGE && 
-                    !visited[newRow][newCol]) {
-                    visited[newRow][newCol] = true;
-                    queue.add(new int[]{newRow, newCol});
-                }
+            if (r >= 2 && isSet(walls, cell + step[UP])) {
+                frontier[size++] = (cell + step[UP]) << 3 | UP;
+            }
+            if (c >= 2 && isSet(walls, cell + step[LEFT])) {
+                frontier[size++] = (cell + step[LEFT]) << 3 | LEFT;
+            }
+            if (r < rows - 2 && isSet(walls, cell + step[DOWN])) {
+                frontier[size++] = (cell + step[DOWN]) << 3 | DOWN;
+            }
+            if (c < columns - 2 && isSet(walls, cell + step[RIGHT])) {
+                frontier[size++] = (cell + step[RIGHT]) << 3 | RIGHT;
+            }
+
+            // 벽을 통로로 변경 (이전 셀과의 중간 벽 포함)
+            clear(walls, cell);
+            if (direction != START) {
+                clear(walls, cell - step[direction] / 2);
             }
         }
-        
-        return false;
+        return frontier;
     }
 
-    private boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < GRID_ROWS && col >= 0 && col < GRID_COLUMNS;
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
     }
 
-    private void makeMaze(int[][] maze) {
-        LinkedList<Map.Entry<Cell, Cell>> wallList = new LinkedList<>();
-        Cell start = new Cell(0, 0);
-        wallList.add(new AbstractMap.SimpleEntry<>(start, start));
-
-        while (!wallList.isEmpty()) {
-            // 랜덤하게 벽 선택
-            int randomIndex = random.nextInt(wallList.size());
-            Map.Entry<Cell, Cell> wall = wallList.get(randomIndex);
-            wallList.remove(randomIndex);
-
-            int r = wall.getValue().r;
-            int c = wall.getValue().c;
-            int previousR = wall.getKey().r;
-            int previousC = wall.getKey().c;
-
-            // 중간 벽 계산
-            int betweenR = (r + previousR) / 2;
-            int betweenC = (c + previousC) / 2;
-
-            if (maze[r][c] == WALL) {
-                // 새로운 벽 추가
-                if (r >= 2 && maze[r - 2][c] == WALL) {
-                    wallList.add(new AbstractMap.SimpleEntry<>(new Cell(r, c), new Cell(r - 2, c)));
-                }
-                if (c >= 2 && maze[r][c - 2] == WALL) {
-                    wallList.add(new AbstractMap.SimpleEntry<>(new Cell(r, c), new Cell(r, c - 2)));
-                }
-                if (r < GRID_ROWS - 2 && maze[r + 2][c] == WALL) {
-                    wallList.add(new AbstractMap.SimpleEntry<>(new Cell(r, c), new Cell(r + 2, c)));
-                }
-                if (c < GRID_COLUMNS - 2 && maze[r][c + 2] == WALL) {
-                    wallList.add(new AbstractMap.SimpleEntry<>(new Cell(r, c), new Cell(r, c + 2)));
-                }
-
-                // 벽을 통로로 변경
-                maze[r][c] = PASSAGE;
-                maze[betweenR][betweenC] = PASSAGE;
-            }
-        }
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 방 하나의 미로를 나타내는 불변 그리드
+// 벽 여부를 셀당 1비트로 long[] 비트셋에 저장 (인덱스 = y * columns + x)
+// 같은 시드의 미로는 MazePool 을 통해 여러 방이 같은 인스턴스를 공유한다.
+// 출구는 항상 (columns-2, rows-2) 이고, 모든 셀의 출구까지 거리를 미리 계산해 둔다.
+public final class MazeGrid {
+    private static final Step[] STEPS = {new Step(0, -1), new Step(-1, 0), new Step(0, 1), new Step(1, 0)};
+
+    private final long seed;
+    private final int columns;
+    private final int rows;
+    private final long[] walls;
+    private final DistanceField distances;
+    // 클라이언트 전송용 장애물 JSON, 처음 요청될 때 한 번 만든다
+    private volatile String obstaclesJson;
+
+    // 출구 쪽으로 한 칸 가까워지는 이동 방향
+    public record Step(int dx, int dy) {
+    }
+
+    MazeGrid(long seed, int columns, int rows, long[] walls, DistanceField distances) {
+        if (walls.length != wordsFor(columns * rows)) {
+            throw new IllegalArgumentException("비트셋 크기가 그리드 크기와 맞지 않습니다.");
+        }
+        this.seed = seed;
+        this.columns = columns;
+        this.rows = rows;
+        this.walls = walls;
+        this.distances = distances;
+    }
+
+    public static MazeGrid empty(long seed, int columns, int rows) {
+        long[] walls = new long[wordsFor(columns * rows)];
+        return new MazeGrid(seed, columns, rows, walls,
+            DistanceField.compute(walls, columns, rows, exitIndex(columns, rows)));
+    }
+
+    // 체크포인트에 저장된 벽 비트셋으로 다시 만든다 (거리 필드는 다시 계산)
+    static MazeGrid restore(long seed, int columns, int rows, long[] walls) {
+        return new MazeGrid(seed, columns, rows, walls,
+            DistanceField.compute(walls, columns, rows, exitIndex(columns, rows)));
+    }
+
+    static int exitIndex(int columns, int rows) {
+        return (rows - 2) * columns + (columns - 2);
+    }
+
+    static int wordsFor(int cells) {
+        return (cells + 63) >>> 6;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < columns && y < rows;
+    }
+
+    // 범위를 벗어난 좌표는 벽이 아닌 것으로 취급한다 (경계 체크는 호출자가 따로 한다)
+    public boolean isWall(int x, int y) {
+        if (!contains(x, y)) {
+            return false;
+        }
+        int index = y * columns + x;
+        return (walls[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getExitX() {
+        return columns - 2;
+    }
+
+    public int getExitY() {
+        return rows - 2;
+    }
+
+    public boolean isExit(int x, int y) {
+        return x == getExitX() && y == getExitY();
+    }
+
+    // 출구까지 남은 칸 수, 벽이거나 범위 밖이거나 도달할 수 없으면 -1
+    public int distanceToExit(int x, int y) {
+        if (!contains(x, y)) {
+            return DistanceField.UNREACHABLE;
+        }
+        return distances.get(y * columns + x);
+    }
+
+    // 최단 경로의 다음 한 칸 방향, 이미 출구이거나 도달할 수 없으면 null
+    public Step nextStep(int x, int y) {
+        int distance = distanceToExit(x, y);
+        if (distance <= 0) {
+            return null;
+        }
+        for (Step step : STEPS) {
+            if (distanceToExit(x + step.dx(), y + step.dy()) == distance - 1) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    // 체크포인트 기록용, 수정하지 말 것
+    long[] getWallBits() {
+        return walls;
+    }
+
+    public int getWallCount() {
+        int count = 0;
+        for (long word : walls) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // 클라이언트 JOIN 메시지용 장애물 목록 (기존 JSON 형식 유지)
+    public List<Map<String, Object>> toObstacles() {
+        List<Map<String, Object>> obstacles = new ArrayList<>(getWallCount());
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                if (isWall(x, y)) {
+                    obstacles.add(Map.of(
+                        "x", x,
+                        "y", y,
+                        "type", "obstacle"
+                    ));
+                }
+            }
+        }
+        return obstacles;
+    }
+
+    // [{"x":..,"y":..,"type":"obstacle"}, ...] 형식, toObstacles() 를 직렬화한 것과 같은 내용
+    public String getObstaclesJson() {
+        String json = obstaclesJson;
+        if (json == null) {
+            StringBuilder builder = new StringBuilder(getWallCount() * 32 + 2).append('[');
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    if (isWall(x, y)) {
+                        if (builder.length() > 1) {
+                            builder.append(',');
+                        }
+                        builder.append("{\"x\":").append(x)
+                            .append(",\"y\":").append(y)
+                            .append(",\"type\":\"obstacle\"}");
+                    }
+                }
+            }
+            json = builder.append(']').toString();
+            obstaclesJson = json;
+        }
+        return json;
+    }
+}
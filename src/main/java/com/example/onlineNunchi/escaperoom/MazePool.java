@@ -0,0 +1,128 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 미리 생성해 둔 미로 풀
+// 대기 중인 미로가 low-watermark 아래로 내려가면 백그라운드 스레드가 high-watermark 까지 다시 채운다.
+// 미로는 불변이므로 같은 시드의 미로는 시드 캐시를 통해 여러 방이 공유한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MazePool {
+    private final MazeGenerator mazeGenerator;
+
+    @Value("${game.maze-pool.low-watermark:16}")
+    private int lowWatermark;
+
+    @Value("${game.maze-pool.high-watermark:64}")
+    private int highWatermark;
+
+    @Value("${game.maze-pool.seed-cache-size:1024}")
+    private int seedCacheSize;
+
+    private BlockingQueue<MazeGrid> readyMazes;
+    private Map<Long, MazeGrid> mazesBySeed;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private ExecutorService refillExecutor;
+
+    @PostConstruct
+    public void init() {
+        highWatermark = Math.max(1, highWatermark);
+        lowWatermark = Math.max(0, Math.min(lowWatermark, highWatermark));
+        readyMazes = new ArrayBlockingQueue<>(highWatermark);
+        // 접근 순서 기반 LRU, 시드 지정 조회는 드문 경로라 동기화 맵으로 충분하다
+        mazesBySeed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MazeGrid> eldest) {
+                return size() > seedCacheSize;
+            }
+        });
+        refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "maze-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        requestRefill();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    // 방 생성 경로: 풀에서 바로 꺼내므로 상수 시간, 풀이 비었을 때만 직접 생성
+    public MazeGrid acquire() {
+        MazeGrid maze = readyMazes.poll();
+        if (readyMazes.size() < lowWatermark) {
+            requestRefill();
+        }
+        if (maze == null) {
+            log.warn("미로 풀이 비어 있어 직접 생성합니다.");
+            maze = mazeForSeed(ThreadLocalRandom.current().nextLong());
+        }
+        return maze;
+    }
+
+    public MazeGrid mazeForSeed(long seed) {
+        MazeGrid cached = mazesBySeed.get(seed);
+        if (cached != null) {
+            return cached;
+        }
+        MazeGrid maze = mazeGenerator.generateMaze(seed);
+        // JOIN 에 쓰일 장애물 JSON 도 미리 만들어 둔다
+        maze.getObstaclesJson();
+        MazeGrid previous = mazesBySeed.putIfAbsent(seed, maze);
+        return previous != null ? previous : maze;
+    }
+
+    // 체크포인트에서 복원한 미로를 시드 캐시에 등록해 같은 시드의 방이 공유하게 한다
+    public MazeGrid register(MazeGrid maze) {
+        MazeGrid previous = mazesBySeed.putIfAbsent(maze.getSeed(), maze);
+        return previous != null ? previous : maze;
+    }
+
+    public int getReadyCount() {
+        return readyMazes.size();
+    }
+
+    private void requestRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            try {
+                refillExecutor.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                refilling.set(false);
+            }
+        }
+    }
+
+    private void refill() {
+        try {
+            while (readyMazes.size() < highWatermark) {
+                if (!readyMazes.offer(mazeForSeed(ThreadLocalRandom.current().nextLong()))) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("미로 풀 보충 중 에러 발생: {}", e.getMessage(), e);
+        } finally {
+            refilling.set(false);
+        }
+    }
+}
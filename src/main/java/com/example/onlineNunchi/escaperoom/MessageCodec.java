@@ -0,0 +1,109 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+// JSON 메시지 읽기/쓰기
+// 수신: JsonParser 로 필드를 순서대로 훑어 type 을 찾고, MOVE 의 position 만 미리 만든 reader 로 읽는다.
+//       Map 트리와 박싱된 정수를 만들지 않으며, type 이 position 뒤에 와도 된다.
+//       position 이 없거나 x/y 가 빠진 MOVE 는 0 으로 채우지 않고 디코딩 에러(MismatchedInputException)로 던진다.
+//       type 이 객체나 배열이면 통째로 건너뛰어 그 안의 필드를 최상위 필드로 읽지 않는다.
+// 송신: 타입별 ObjectWriter 를 재사용해 직렬화기 조회 없이 바로 쓴다.
+final class MessageCodec {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // 기존 Map 파싱처럼 모르는 필드는 무시
+    private static final ObjectReader POSITION_READER = objectMapper.readerFor(GameMessage.Position.class)
+        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .with(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES, DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    private static final ObjectWriter JOIN_WRITER = objectMapper.writerFor(GameMessage.Join.class);
+    private static final ObjectWriter LEAVE_WRITER = objectMapper.writerFor(GameMessage.Leave.class);
+    private static final ObjectWriter POSITION_UPDATE_WRITER = objectMapper.writerFor(GameMessage.PositionUpdate.class);
+    private static final ObjectWriter EXIT_REACHED_WRITER = objectMapper.writerFor(GameMessage.ExitReached.class);
+    private static final ObjectWriter SNAPSHOT_WRITER = objectMapper.writerFor(GameMessage.Snapshot.class);
+    private static final ObjectWriter HINT_RESPONSE_WRITER = objectMapper.writerFor(GameMessage.HintResponse.class);
+    private static final GameMessage.Sync SYNC = new GameMessage.Sync();
+    private static final GameMessage.Hint HINT = new GameMessage.Hint();
+
+    private MessageCodec() {
+    }
+
+    static GameMessage read(String payload) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new GameMessage.Unknown(null);
+            }
+            String type = null;
+            GameMessage.Position position = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "type" -> {
+                        if (parser.currentToken().isScalarValue()) {
+                            type = parser.getValueAsString();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    case "position" -> position = POSITION_READER.readValue(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (type == null) {
+                return new GameMessage.Unknown(null);
+            }
+            return switch (type) {
+                case GameMessage.MOVE -> {
+                    if (position == null) {
+                        throw MismatchedInputException.from(parser, GameMessage.Move.class,
+                            "MOVE 메시지에 position 이 없습니다");
+                    }
+                    yield new GameMessage.Move(position);
+                }
+                case GameMessage.SYNC -> SYNC;
+                case GameMessage.HINT -> HINT;
+                default -> new GameMessage.Unknown(type);
+            };
+        }
+    }
+
+    static String write(GameMessage.Join message) {
+        return write(JOIN_WRITER, message);
+    }
+
+    static String write(GameMessage.Leave message) {
+        return write(LEAVE_WRITER, message);
+    }
+
+    static String write(GameMessage.PositionUpdate message) {
+        return write(POSITION_UPDATE_WRITER, message);
+    }
+
+    static String write(GameMessage.ExitReached message) {
+        return write(EXIT_REACHED_WRITER, message);
+    }
+
+    static String write(GameMessage.Snapshot message) {
+        return write(SNAPSHOT_WRITER, message);
+    }
+
+    static String write(GameMessage.HintResponse message) {
+        return write(HINT_RESPONSE_WRITER, message);
+    }
+
+    private static String write(ObjectWriter writer, Object message) {
+        try {
+            return writer.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메시지 직렬화 실패", e);
+        }
+    }
+}
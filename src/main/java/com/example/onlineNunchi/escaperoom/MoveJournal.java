@@ -0,0 +1,183 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+// 방별 이동 기록(RoomJournal)을 만들고, 기록 파일을 재생용으로 그대로 스트리밍한다
+// 기록은 디스크에만 남으므로 힙에 이동 이력을 들고 있지 않는다. 방이 정리된 뒤에도 파일은 남아 재생할 수 있다.
+// 디렉터리 구조: <directory>/<roomId>/00000.journal, 00001.journal, ... (각 segment-size-bytes)
+@Slf4j
+@Component
+public class MoveJournal {
+    private static final Pattern ROOM_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    @Value("${game.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.journal.directory:journal}")
+    private Path directory;
+
+    // 레코드 크기(32바이트)의 배수로 내림
+    @Value("${game.journal.segment-size-bytes:262144}")
+    private long segmentSize;
+
+    // 기록 중인 방, 재생할 때 마지막 세그먼트의 유효 길이를 알려준다
+    private final ConcurrentHashMap<String, RoomJournal> activeJournals = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        segmentSize = Math.max(RoomJournal.RECORD_SIZE * 2L, segmentSize - segmentSize % RoomJournal.RECORD_SIZE);
+        if (enabled) {
+            log.info("이동 기록 사용: 디렉터리 {}, 세그먼트 {}바이트", directory.toAbsolutePath(), segmentSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 파일 확인과 생성은 모두 첫 이동이 기록될 때 방 액터 스레드에서 한다
+    // 같은 방의 기록이 이미 있으면 (체크포인트에서 복원한 방) 그 끝에서 이어 쓴다
+    public RoomJournal open(String roomId, MazeGrid maze) {
+        if (!enabled || !ROOM_ID.matcher(roomId).matches()) {
+            return RoomJournal.DISABLED;
+        }
+        RoomJournal journal = new RoomJournal(roomId, directory.resolve(roomId), segmentSize, maze,
+            () -> countSlots(roomId), closed -> activeJournals.remove(closed.getRoomId(), closed));
+        activeJournals.put(roomId, journal);
+        return journal;
+    }
+
+    private long countSlots(String roomId) throws IOException {
+        try (Replay existing = openReplay(roomId)) {
+            return existing != null ? existing.getLength() / RoomJournal.RECORD_SIZE : 0;
+        }
+    }
+
+    // 기록이 없으면 null
+    public Replay openReplay(String roomId) throws IOException {
+        if (!ROOM_ID.matcher(roomId).matches()) {
+            return null;
+        }
+        Path roomDirectory = directory.resolve(roomId);
+        if (!Files.isRegularFile(RoomJournal.segmentPath(roomDirectory, 0))) {
+            return null;
+        }
+
+        // 기록 중인 방은 지금까지 기록된 슬롯 수 만큼만 보낸다 (첫 기록 전이면 닫힌 기록처럼 파일에서 찾는다)
+        RoomJournal active = activeJournals.get(roomId);
+        long activeSlots = active != null ? active.getSlots() : -1;
+        long remaining = activeSlots >= 0 ? activeSlots * RoomJournal.RECORD_SIZE : Long.MAX_VALUE;
+        List<FileChannel> channels = new ArrayList<>();
+        List<Long> lengths = new ArrayList<>();
+        try {
+            for (int index = 0; remaining > 0; index++) {
+                Path path = RoomJournal.segmentPath(roomDirectory, index);
+                if (!Files.isRegularFile(path)) {
+                    break;
+                }
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                channels.add(channel);
+                long length = Math.min(remaining, activeSlots >= 0 ? segmentSize : validLength(channel));
+                lengths.add(length);
+                remaining -= length;
+                if (length < channel.size()) {
+                    break;
+                }
+            }
+            return new Replay(channels, lengths);
+        } catch (IOException | RuntimeException e) {
+            closeAll(channels);
+            throw e;
+        }
+    }
+
+    // 정상 종료된 기록은 파일 길이가 곧 유효 길이, 비정상 종료로 잘리지 않은 세그먼트는
+    // 타임스탬프가 0 인 첫 슬롯을 이분 탐색으로 찾는다 (레코드는 앞에서부터 빈틈없이 채워진다)
+    private static long validLength(FileChannel channel) throws IOException {
+        long slots = channel.size() / RoomJournal.RECORD_SIZE;
+        if (slots == 0 || !isEmptySlot(channel, slots - 1)) {
+            return slots * RoomJournal.RECORD_SIZE;
+        }
+        long low = 0;
+        long high = slots - 1;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (isEmptySlot(channel, mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low * RoomJournal.RECORD_SIZE;
+    }
+
+    private static boolean isEmptySlot(FileChannel channel, long slot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        channel.read(buffer, slot * RoomJournal.RECORD_SIZE);
+        return buffer.flip().remaining() == Long.BYTES && buffer.getLong() == 0;
+    }
+
+    private static void closeAll(List<FileChannel> channels) {
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("기록 파일 닫기 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 한 방의 기록 전체 (헤더 포함), transferTo 로 커널이 파일에서 바로 복사한다
+    public static final class Replay implements Closeable {
+        private final List<FileChannel> channels;
+        private final List<Long> lengths;
+
+        private Replay(List<FileChannel> channels, List<Long> lengths) {
+            this.channels = channels;
+            this.lengths = lengths;
+        }
+
+        public long getLength() {
+            return lengths.stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long getMazeSeed() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            channels.get(0).read(buffer, 8);
+            return buffer.flip().getLong();
+        }
+
+        public void transferTo(WritableByteChannel target) throws IOException {
+            for (int i = 0; i < channels.size(); i++) {
+                FileChannel channel = channels.get(i);
+                long length = lengths.get(i);
+                long position = 0;
+                while (position < length) {
+                    position += channel.transferTo(position, length - position, target);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            closeAll(channels);
+        }
+    }
+}
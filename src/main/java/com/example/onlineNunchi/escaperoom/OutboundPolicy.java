@@ -0,0 +1,60 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+// 세션별 송신 버퍼 한도와 전체 송신 카운터
+// 한도(전송 지연 시간 또는 버퍼 크기)를 넘긴 느린 클라이언트는 연결을 끊는다.
+@Getter
+@Component
+public class OutboundPolicy {
+
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.outbound.send-time-limit-ms:2000}")
+    private long sendTimeLimitMillis;
+
+    @Value("${game.outbound.buffer-size-limit:65536}")
+    private int bufferSizeLimit;
+
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder conflatedFrames = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    public OutboundPolicy(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+        MeterRegistry registry = gameMetrics.getRegistry();
+        FunctionCounter.builder("game.outbound.dropped", droppedFrames, LongAdder::sum)
+            .description("버려진 송신 프레임 수")
+            .register(registry);
+        FunctionCounter.builder("game.outbound.conflated", conflatedFrames, LongAdder::sum)
+            .description("최신 위치로 대체된 POSITION_UPDATE 수")
+            .register(registry);
+        FunctionCounter.builder("game.outbound.evicted", evictedSessions, LongAdder::sum)
+            .description("송신 한도 초과로 끊긴 세션 수")
+            .register(registry);
+    }
+
+    public PlayerConnection wrap(WebSocketSession session) {
+        return new PlayerConnection(session, this);
+    }
+
+    void recordDropped(int frames) {
+        droppedFrames.add(frames);
+    }
+
+    void recordConflated() {
+        conflatedFrames.increment();
+    }
+
+    void recordEvicted() {
+        evictedSessions.increment();
+    }
+}
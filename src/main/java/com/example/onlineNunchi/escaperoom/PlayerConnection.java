@@ -0,0 +1,177 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 세션 하나의 송신 버퍼
+// 호출 스레드(주로 방 액터)는 버퍼에 넣고 바로 돌아가고, 실제 전송은 연결마다 하나씩 뜨는 가상 스레드(drainer)가 한다.
+// 느리거나 반쯤 열린 클라이언트가 방 액터를 막지 않고, 전송 스레드가 하나뿐이라 동시 전송 에러도 없다.
+// 송신 한도(전송 지연 시간, 버퍼 크기)는 넣는 시점에 확인해 넘으면 연결을 끊는다.
+// POSITION_UPDATE 는 최신 값 하나만 유지(conflation)하므로 밀린 클라이언트는 마지막 위치만 받는다.
+@Slf4j
+public class PlayerConnection {
+    private final WebSocketSession session;
+    private final boolean binary;
+    private final OutboundPolicy policy;
+
+    private final Queue<WebSocketMessage<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<WebSocketMessage<?>> pendingPosition = new AtomicReference<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    // drainer 가 떠 있는 동안 true
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartTime;
+    private final AtomicBoolean evicted = new AtomicBoolean();
+
+    PlayerConnection(WebSocketSession session, OutboundPolicy policy) {
+        this.session = session;
+        this.binary = BinaryProtocol.isBinarySession(session);
+        this.policy = policy;
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public boolean isOpen() {
+        return !evicted.get() && session.isOpen();
+    }
+
+    public void send(WebSocketMessage<?> message) {
+        if (!isOpen()) {
+            policy.recordDropped(1);
+            return;
+        }
+        pending.add(message);
+        bufferSize.addAndGet(message.getPayloadLength());
+        if (isOverLimit()) {
+            evict();
+            return;
+        }
+        flush();
+    }
+
+    // 아직 보내지 못한 이전 위치 프레임은 새 프레임으로 대체된다
+    public void sendPosition(WebSocketMessage<?> message) {
+        if (!isOpen()) {
+            policy.recordDropped(1);
+            return;
+        }
+        if (pendingPosition.getAndSet(message) != null) {
+            policy.recordConflated();
+        }
+        if (isOverLimit()) {
+            evict();
+            return;
+        }
+        flush();
+    }
+
+    // 하트비트 ping, 다른 프레임과 같은 버퍼를 거치므로 동시 전송이 생기지 않는다
+    public void ping() {
+        send(new PingMessage(ByteBuffer.allocate(0)));
+    }
+
+    // 서버가 연결을 끊을 때 (하트비트 만료, 방 정리), 남은 프레임은 보내지 않는다
+    public void close(CloseStatus status) {
+        if (!evicted.compareAndSet(false, true)) {
+            return;
+        }
+        pending.clear();
+        pendingPosition.set(null);
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.error("세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+        }
+    }
+
+    // 전송 중인 drainer 가 없으면 하나 띄운다
+    private void flush() {
+        if (hasPending() && isOpen() && draining.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("send-" + session.getId()).start(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            WebSocketMessage<?> message;
+            while (isOpen() && (message = nextMessage()) != null) {
+                sendStartTime = System.currentTimeMillis();
+                long start = System.nanoTime();
+                session.sendMessage(message);
+                GameMetrics.recordSince(policy.getGameMetrics().getSendTimer(), start);
+                sendStartTime = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("메시지 전송 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+            policy.getGameMetrics().getSendFailures().increment();
+            evict();
+        } finally {
+            sendStartTime = 0;
+            draining.set(false);
+        }
+        // 끝내는 사이에 들어온 프레임을 놓치지 않도록 다시 확인
+        flush();
+    }
+
+    private boolean hasPending() {
+        return !pending.isEmpty() || pendingPosition.get() != null;
+    }
+
+    private WebSocketMessage<?> nextMessage() {
+        WebSocketMessage<?> message = pending.poll();
+        if (message != null) {
+            bufferSize.addAndGet(-message.getPayloadLength());
+            return message;
+        }
+        return pendingPosition.getAndSet(null);
+    }
+
+    private boolean isOverLimit() {
+        long start = sendStartTime;
+        if (start > 0 && System.currentTimeMillis() - start > policy.getSendTimeLimitMillis()) {
+            return true;
+        }
+        return bufferSize.get() > policy.getBufferSizeLimit();
+    }
+
+    private void evict() {
+        if (!evicted.compareAndSet(false, true)) {
+            return;
+        }
+        policy.recordEvicted();
+
+        int dropped = pending.size() + (pendingPosition.getAndSet(null) != null ? 1 : 0);
+        pending.clear();
+        policy.recordDropped(dropped);
+        log.warn("느린 클라이언트 연결 종료: sessionId={}, 버려진 프레임={}", session.getId(), dropped);
+        // 한도를 넘긴 소켓은 close 프레임 쓰기에서도 막힐 수 있으므로 호출 스레드(방 액터) 밖에서 닫는다
+        Thread.ofVirtual().start(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.error("세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 방 상태 체크포인트: 배포로 재시작해도 진행 중인 게임을 이어서 할 수 있게 한다
+// 주기적으로, 그리고 웹 서버가 세션을 닫기 전(SmartLifecycle 정지 단계)에 모든 방을 바이너리 파일 하나로 저장하고,
+// 시작할 때는 빈 초기화(@PostConstruct) 단계, 즉 웹 서버가 /ws 연결을 받기 전에 복원한다.
+// 체크포인트에 기록된 사용자가 resume-ttl-ms 안에 다시 접속하면 원래 방으로 입장시킨다.
+//
+// 형식 (big-endian):
+//   헤더: [magic int32][version int16][writtenAt int64][mazeCount int32][roomCount int32]
+//   미로: [seed int64][columns int32][rows int32][words int32][walls int64 * words]   (시드별 한 번)
+//   방:   [roomId str][mazeIndex int32][x int32][y int32][seq int64][moveCount int32][createdAt int64]
+//         [escaped int8][playerCount int8][player str * playerCount]
+//   str = [length int16][UTF-8 bytes]
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomCheckpoint implements SmartLifecycle {
+    private static final int MAGIC = 0x4E435031; // "NCP1"
+    private static final short VERSION = 1;
+
+    private final GameRoomManager gameRoomManager;
+    private final MazePool mazePool;
+
+    // 켜면 path 에 모든 방 상태를 쓰므로 명시적으로 켜야 한다
+    @Value("${game.checkpoint.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.checkpoint.path:checkpoint/rooms.bin}")
+    private Path path;
+
+    // 0 이하면 종료 시에만 저장
+    @Value("${game.checkpoint.interval-ms:30000}")
+    private long intervalMillis;
+
+    // 방 액터들이 상태를 넘겨줄 때까지 기다리는 시간
+    @Value("${game.checkpoint.capture-timeout-ms:2000}")
+    private long captureTimeoutMillis;
+
+    @Value("${game.checkpoint.resume-ttl-ms:120000}")
+    private long resumeTtlMillis;
+
+    // 사용자 이름 -> 복원된 방 ID, 한 번 쓰면 지운다
+    private final ConcurrentHashMap<String, String> resumableRooms = new ConcurrentHashMap<>();
+    private volatile long resumeDeadlineMillis;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    // 웹 서버가 시작되기 전, 빈 초기화 단계에서 복원
+    @PostConstruct
+    public void restore() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                log.warn("체크포인트 형식이 맞지 않아 복원하지 않습니다: {}", path);
+                return;
+            }
+            long writtenAt = buffer.getLong();
+            MazeGrid[] mazes = new MazeGrid[buffer.getInt()];
+            for (int i = 0; i < mazes.length; i++) {
+                long seed = buffer.getLong();
+                int columns = buffer.getInt();
+                int rows = buffer.getInt();
+                long[] walls = new long[buffer.getInt()];
+                buffer.asLongBuffer().get(walls);
+                buffer.position(buffer.position() + walls.length * Long.BYTES);
+                mazes[i] = mazePool.register(MazeGrid.restore(seed, columns, rows, walls));
+            }
+
+            int roomCount = buffer.getInt();
+            int restored = 0;
+            for (int i = 0; i < roomCount; i++) {
+                String roomId = readString(buffer);
+                MazeGrid maze = mazes[buffer.getInt()];
+                int x = buffer.getInt();
+                int y = buffer.getInt();
+                long sequence = buffer.getLong();
+                int moveCount = buffer.getInt();
+                long createdAt = buffer.getLong();
+                boolean escaped = buffer.get() != 0;
+                int playerCount = buffer.get();
+                List<String> players = new ArrayList<>(playerCount);
+                for (int p = 0; p < playerCount; p++) {
+                    // 한 사용자에게는 좌석 하나만 잡아 둔다 (같은 방에 두 번, 또는 다른 방에 이미 있는 경우 제외)
+                    String player = readString(buffer);
+                    if (!players.contains(player) && !resumableRooms.containsKey(player)) {
+                        players.add(player);
+                    }
+                }
+                RoomState state = new RoomState(roomId, maze, x, y, sequence, moveCount, escaped, createdAt, players);
+                if (gameRoomManager.restoreRoom(state) != null) {
+                    restored++;
+                    players.forEach(player -> resumableRooms.put(player, roomId));
+                }
+            }
+            resumeDeadlineMillis = System.currentTimeMillis() + resumeTtlMillis;
+            if (!resumableRooms.isEmpty()) {
+                executor().schedule(this::expireResumableRooms, resumeTtlMillis, TimeUnit.MILLISECONDS);
+            }
+            log.info("체크포인트 복원 완료: 방 {}/{}개, 재접속 대기 {}명, {}ms 전 저장, {}ms 소요", restored, roomCount,
+                resumableRooms.size(), System.currentTimeMillis() - writtenAt,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("체크포인트 복원 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 체크포인트에 있던 사용자면 원래 방 ID, 아니면 null
+    // 돌려준 방에는 이 사용자의 좌석이 잡혀 있으므로 GameRoomManager.resumeRoom 으로 입장시킨다
+    public String takeResumeRoom(Principal principal) {
+        if (principal == null || resumableRooms.isEmpty() || System.currentTimeMillis() > resumeDeadlineMillis) {
+            return null;
+        }
+        return resumableRooms.remove(principal.getName());
+    }
+
+    // 제한 시간 안에 돌아오지 않은 사용자의 좌석을 반납 (resumableRooms 에서 먼저 지운 쪽만 좌석을 쓰므로 중복 반납은 없다)
+    private void expireResumableRooms() {
+        int expired = 0;
+        for (String player : resumableRooms.keySet()) {
+            String roomId = resumableRooms.remove(player);
+            if (roomId != null) {
+                gameRoomManager.releaseHeldSeat(roomId);
+                expired++;
+            }
+        }
+        log.info("재접속 제한 시간 만료: 돌아오지 않은 {}명의 좌석 반납", expired);
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "room-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled || intervalMillis <= 0) {
+            return;
+        }
+        executor().scheduleWithFixedDelay(this::checkpointQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("방 체크포인트 시작: {}ms 주기, {}", intervalMillis, path.toAbsolutePath());
+    }
+
+    // 기본 단계(DEFAULT_PHASE)는 웹 서버보다 먼저 정지하므로, 세션이 닫혀 방이 비기 전에 저장된다
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (enabled) {
+            checkpointQuietly();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("방 체크포인트 저장 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 방 액터마다 상태 복사를 요청하고, 응답한 방만 임시 파일에 쓴 뒤 원자적으로 교체한다
+    public synchronized void checkpoint() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        List<CompletableFuture<RoomState>> captures = new ArrayList<>(gameRoomManager.getGameRooms().size());
+        for (GameRoom room : gameRoomManager.getGameRooms().values()) {
+            // 정지된 방의 액터는 명령을 받지 않으므로 타임아웃까지 기다리지 않고 건너뛴다
+            if (room.isStopped()) {
+                continue;
+            }
+            CompletableFuture<RoomState> capture = new CompletableFuture<>();
+            room.submit(new RoomCommand.Capture(capture));
+            captures.add(capture);
+        }
+        try {
+            CompletableFuture.allOf(captures.toArray(CompletableFuture[]::new))
+                .get(captureTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("일부 방이 체크포인트에 응답하지 않았습니다: {}", e.getMessage());
+        }
+
+        List<RoomState> states = new ArrayList<>(captures.size());
+        Map<Long, Integer> mazeIndexes = new HashMap<>();
+        List<MazeGrid> mazes = new ArrayList<>();
+        for (CompletableFuture<RoomState> capture : captures) {
+            RoomState state = capture.getNow(null);
+            if (state != null) {
+                states.add(state);
+                mazeIndexes.computeIfAbsent(state.maze().getSeed(), seed -> {
+                    mazes.add(state.maze());
+                    return mazes.size() - 1;
+                });
+            }
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(mazes.size());
+            for (MazeGrid maze : mazes) {
+                long[] walls = maze.getWallBits();
+                out.writeLong(maze.getSeed());
+                out.writeInt(maze.getColumns());
+                out.writeInt(maze.getRows());
+                out.writeInt(walls.length);
+                for (long word : walls) {
+                    out.writeLong(word);
+                }
+            }
+            out.writeInt(states.size());
+            for (RoomState state : states) {
+                writeString(out, state.roomId());
+                out.writeInt(mazeIndexes.get(state.maze().getSeed()));
+                out.writeInt(state.positionX());
+                out.writeInt(state.positionY());
+                out.writeLong(state.sequence());
+                out.writeInt(state.moveCount());
+                out.writeLong(state.createdAtMillis());
+                out.writeByte(state.escaped() ? 1 : 0);
+                out.writeByte(state.players().size());
+                for (String player : state.players()) {
+                    writeString(out, player);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("방 체크포인트 저장: 방 {}개, 미로 {}개, {}ms", states.size(), mazes.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.CompletableFuture;
+
+// 방 액터의 메일박스에 들어가는 명령
+// 방 상태는 메일박스를 처리하는 가상 스레드 하나만 변경하므로 명령 처리 중에는 락이 필요 없다.
+public sealed interface RoomCommand {
+    RoomCommand TICK = new Tick();
+    RoomCommand STOP = new Stop();
+    RoomCommand RELEASE_SEAT = new ReleaseSeat();
+
+    record Join(PlayerConnection connection) implements RoomCommand {
+    }
+
+    // 즉시 반영 후 POSITION_UPDATE 전송
+    record Move(String sessionId, int x, int y) implements RoomCommand {
+    }
+
+    // 틱 모드: 다음 Tick 에서 반영
+    record QueueMove(String sessionId, int x, int y) implements RoomCommand {
+    }
+
+    record Leave(String sessionId) implements RoomCommand {
+    }
+
+    // 순번 누락을 감지한 클라이언트의 전체 상태 요청
+    record Sync(String sessionId) implements RoomCommand {
+    }
+
+    // 출구 쪽 다음 한 칸과 남은 거리 요청
+    record Hint(String sessionId) implements RoomCommand {
+    }
+
+    // 체크포인트용 상태 복사, 액터 스레드에서 읽으므로 일관된 값이다
+    record Capture(CompletableFuture<RoomState> result) implements RoomCommand {
+    }
+
+    // 체크포인트 복원 때 잡아 둔 좌석 중 재접속 제한 시간 안에 돌아오지 않은 플레이어의 좌석 반납
+    record ReleaseSeat() implements RoomCommand {
+    }
+
+    record Tick() implements RoomCommand {
+    }
+
+    record Stop() implements RoomCommand {
+    }
+}
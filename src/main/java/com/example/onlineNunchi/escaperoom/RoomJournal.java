@@ -0,0 +1,187 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 방 하나의 이동 기록, 메모리 매핑된 고정 크기 세그먼트 파일에 32바이트 레코드를 이어 붙인다
+// 방 액터 스레드 하나만 기록하므로 락이 없고, 기록은 매핑된 메모리에 값을 쓰는 것뿐이다 (디스크 반영은 OS 가 한다).
+// 파일은 첫 이동 때 만들고, 방이 정지되면 매핑을 풀고 마지막 세그먼트를 실제 길이로 자른다.
+// 체크포인트에서 복원한 방은 기존 기록의 끝에서 이어 쓴다.
+//
+// 헤더 (세그먼트 0 의 첫 슬롯, 32바이트): [magic int32][version int16][recordSize int16][seed int64][columns int32][rows int32][createdAt int64]
+// 레코드 (32바이트): [timestamp int64][session msb int64][session lsb int64][dx int8][dy int8][x int16][y int16][0 int16]
+// 세션 ID 가 UUID 형식이 아니면 msb 는 0, lsb 는 문자열 해시. 정수는 모두 big-endian.
+@Slf4j
+public final class RoomJournal {
+    public static final RoomJournal DISABLED = new RoomJournal();
+
+    static final int RECORD_SIZE = 32;
+    static final int MAGIC = 0x4E4D4A31; // "NMJ1"
+    static final short VERSION = 1;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long seed;
+    private final int columns;
+    private final int rows;
+    private final Consumer<RoomJournal> closeHandler;
+    private final String roomId;
+    private final ExistingSlots existingSlots;
+
+    private Arena arena;
+    private FileChannel channel;
+    private MemorySegment segment;
+    private long offset;
+    private boolean failed;
+    // 헤더를 포함해 기록된 슬롯 수, 재생 중인 다른 스레드가 읽는다
+    // 첫 기록 전에는 기존 파일을 아직 세지 않았으므로 -1
+    private volatile long slots = -1;
+    private volatile boolean closed;
+
+    // 같은 방의 기존 기록 슬롯 수 (헤더 포함), 기록이 없으면 0
+    @FunctionalInterface
+    interface ExistingSlots {
+        long count() throws IOException;
+    }
+
+    private RoomJournal() {
+        this(null, null, 0, null, () -> 0, ignored -> { });
+        closed = true;
+    }
+
+    // existingSlots 는 첫 기록 때 방 액터 스레드에서 한 번만 불린다 (입장 경로에서 파일을 확인하지 않도록)
+    RoomJournal(String roomId, Path directory, long segmentSize, MazeGrid maze, ExistingSlots existingSlots,
+                Consumer<RoomJournal> closeHandler) {
+        this.roomId = roomId;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.seed = maze != null ? maze.getSeed() : 0;
+        this.columns = maze != null ? maze.getColumns() : 0;
+        this.rows = maze != null ? maze.getRows() : 0;
+        this.closeHandler = closeHandler;
+        this.existingSlots = existingSlots;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    // 아직 첫 기록 전이면 -1
+    long getSlots() {
+        return slots;
+    }
+
+    long getSegmentSize() {
+        return segmentSize;
+    }
+
+    // 방 액터 스레드에서만 호출
+    void append(String sessionId, int dx, int dy, int x, int y) {
+        if (closed || failed) {
+            return;
+        }
+        try {
+            if (segment == null || offset == segmentSize) {
+                openSegment();
+            }
+            long msb = 0;
+            long lsb = 0;
+            if (sessionId != null) {
+                try {
+                    UUID uuid = UUID.fromString(sessionId);
+                    msb = uuid.getMostSignificantBits();
+                    lsb = uuid.getLeastSignificantBits();
+                } catch (IllegalArgumentException e) {
+                    lsb = sessionId.hashCode();
+                }
+            }
+            // 타임스탬프를 마지막에 써서, 0 이 아닌 타임스탬프가 보이면 레코드가 완성된 것
+            segment.set(LONG, offset + 8, msb);
+            segment.set(LONG, offset + 16, lsb);
+            segment.set(ValueLayout.JAVA_BYTE, offset + 24, (byte) dx);
+            segment.set(ValueLayout.JAVA_BYTE, offset + 25, (byte) dy);
+            segment.set(SHORT, offset + 26, (short) x);
+            segment.set(SHORT, offset + 28, (short) y);
+            segment.set(LONG, offset, System.currentTimeMillis());
+            offset += RECORD_SIZE;
+            slots++;
+        } catch (IOException | RuntimeException e) {
+            // 기록 실패가 게임 진행을 막지 않도록 이 방의 기록만 멈춘다
+            failed = true;
+            log.error("방 {} 이동 기록 실패, 이후 기록을 중단합니다: {}", roomId, e.getMessage());
+        }
+    }
+
+    // 다음 슬롯이 들어갈 세그먼트를 매핑 (파일이 짧으면 매핑하면서 segmentSize 로 늘어난다)
+    private void openSegment() throws IOException {
+        boolean first = segment == null;
+        unmap(false);
+        if (first) {
+            if (slots < 0) {
+                slots = existingSlots.count();
+            }
+            Files.createDirectories(directory);
+        }
+        long position = slots * RECORD_SIZE;
+        channel = FileChannel.open(segmentPath(directory, (int) (position / segmentSize)),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        arena = Arena.ofShared();
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize, arena);
+        offset = position % segmentSize;
+        if (slots == 0) {
+            segment.set(INT, 0, MAGIC);
+            segment.set(SHORT, 4, VERSION);
+            segment.set(SHORT, 6, (short) RECORD_SIZE);
+            segment.set(LONG, 8, seed);
+            segment.set(INT, 16, columns);
+            segment.set(INT, 20, rows);
+            segment.set(LONG, 24, System.currentTimeMillis());
+            offset = RECORD_SIZE;
+            slots++;
+        }
+    }
+
+    // 방 액터가 종료될 때 호출
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            unmap(true);
+        } catch (IOException e) {
+            log.error("방 {} 이동 기록 닫기 실패: {}", roomId, e.getMessage());
+        }
+        closeHandler.accept(this);
+    }
+
+    private void unmap(boolean truncate) throws IOException {
+        if (segment == null) {
+            return;
+        }
+        arena.close();
+        segment = null;
+        if (truncate) {
+            channel.truncate(offset);
+        }
+        channel.close();
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%05d.journal", index));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.List;
+
+// 체크포인트에 저장하는 방 하나의 상태 (방 액터 스레드에서 만든다)
+// players 는 다시 접속했을 때 같은 방으로 돌려보낼 사용자 이름, 인증되지 않은 세션은 포함하지 않는다
+public record RoomState(
+    String roomId,
+    MazeGrid maze,
+    int positionX,
+    int positionY,
+    long sequence,
+    int moveCount,
+    boolean escaped,
+    long createdAtMillis,
+    List<String> players
+) {
+}
@@ -0,0 +1,71 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 고정 주기 틱 모드 (game.tick.enabled=true 일 때만 동작)
+// 이동 입력은 방마다 큐에 쌓이고, 틱마다 순서대로 반영한 뒤 POSITION_UPDATE 를 한 번만 보낸다.
+// 송신 프레임 수는 입력 빈도와 무관하게 방당 최대 rate-hz 로 제한된다.
+// 입력이 쌓인 방에만 TICK 을 보내므로 조용한 방의 액터는 깨우지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomTickScheduler {
+    private static final int MIN_RATE_HZ = 1;
+    private static final int MAX_RATE_HZ = 120;
+
+    private final GameRoomManager gameRoomManager;
+
+    @Value("${game.tick.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.tick.rate-hz:30}")
+    private int rateHz;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int rate = Math.max(MIN_RATE_HZ, Math.min(MAX_RATE_HZ, rateHz));
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tickAll, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        log.info("방 틱 스케줄러 시작: {}Hz", rate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void tickAll() {
+        // 실제 틱 처리는 각 방 액터가 한다
+        for (GameRoom room : gameRoomManager.getGameRooms().values()) {
+            if (room.takeTickPending()) {
+                room.submit(RoomCommand.TICK);
+            }
+        }
+    }
+}
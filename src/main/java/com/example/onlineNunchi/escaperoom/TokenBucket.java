@@ -0,0 +1,45 @@
+package com.example.onlineNunchi.escaperoom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// AtomicLong 하나에 상태를 담은 락 없는 토큰 버킷
+// 상위 44비트: 마지막 보충 시각(ms), 하위 20비트: 남은 토큰 x 1000 (최대 1048개)
+// 초당 r 개를 보충하면 1ms 마다 r 밀리토큰이 쌓이므로 나눗셈 없이 계산된다.
+final class TokenBucket {
+    static final int MAX_CAPACITY = 1048;
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final long ratePerSecond;
+    private final long capacity;
+    private final AtomicLong state;
+
+    // 처음에는 가득 찬 상태로 시작
+    TokenBucket(int ratePerSecond, int burst, long nowMillis) {
+        this.ratePerSecond = Math.max(1, ratePerSecond);
+        this.capacity = Math.clamp(burst, 1, MAX_CAPACITY) * ONE_TOKEN;
+        this.state = new AtomicLong(nowMillis << TOKEN_BITS | capacity);
+    }
+
+    boolean tryAcquire(long nowMillis) {
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            long elapsed = nowMillis - last;
+            if (elapsed > 0) {
+                // 오래 쉬었으면 곱셈이 넘치지 않도록 먼저 자른다
+                tokens = elapsed >= capacity ? capacity : Math.min(capacity, tokens + elapsed * ratePerSecond);
+                last = nowMillis;
+            }
+            if (tokens < ONE_TOKEN) {
+                // 거절은 상태를 바꾸지 않는다 (보충분은 다음 호출에서 다시 계산된다)
+                return false;
+            }
+            if (state.compareAndSet(current, last << TOKEN_BITS | (tokens - ONE_TOKEN))) {
+                return true;
+            }
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.example.onlineNunchi.escaperoom;
 
-import java.io.IOException;
-import java.util.Map;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.onlineNunchi.cluster.ClusterRelay;
+import com.fasterxml.jackson.core.JsonProcessingException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,68 +22,149 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     private final GameRoomManager gameRoomManager;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoomTickScheduler roomTickScheduler;
+    private final GameMetrics gameMetrics;
+    private final ClusterRelay clusterRelay;
+    private final HeartbeatMonitor heartbeatMonitor;
+    private final RoomCheckpoint roomCheckpoint;
+    private final InputRateLimiter inputRateLimiter;
+
+    // JSON 텍스트 프로토콜을 명시적으로 고르는 서브프로토콜
+    // 서브프로토콜 목록에 "bearer.<jwt>" 로 토큰을 실어 보내는 클라이언트는 응답할 프로토콜이 하나 필요하다.
+    public static final String JSON_SUB_PROTOCOL = "nunchi.json.v1";
+
+    // 서브프로토콜을 요청하지 않은 클라이언트는 기존 JSON 텍스트 프로토콜을 그대로 사용
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BinaryProtocol.SUB_PROTOCOL, JSON_SUB_PROTOCOL);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         log.info("새로운 웹소켓 연결 시도: {}", session.getId());
         log.info("세션 속성: {}", session.getAttributes());
-        log.info("세션 헤더: {}", session.getHandshakeHeaders());
+        log.info("협상된 서브프로토콜: {}", session.getAcceptedProtocol());
         
         try {
-            // 새로운 플레이어가 접속하면 사용 가능한 방을 찾아 입장시킴
-            GameRoom room = gameRoomManager.findAvailableRoom();
-            gameRoomManager.addPlayerToRoom(session, room.getRoomId());
-            
-            // 입장 메시지 브로드캐스트
-            Map<String, Object> message = Map.of(
-                "type", "JOIN",
-                "roomId", room.getRoomId(),
-                "playerId", session.getId(),
-                "playerCount", room.getPlayerCount(),
-                "obstacles", room.getObstacles()
-            );
-            room.broadcastMessage(objectMapper.writeValueAsString(message));
-            log.info("웹소켓 연결 성공 및 방 입장: sessionId={}, roomId={}", session.getId(), room.getRoomId());
+            // roomId 를 지정했고 그 방의 소유 노드가 다른 노드면 입장과 이후 프레임을 그 노드로 중계
+            String roomId = requestedRoomId(session);
+            if (roomId == null) {
+                // 재시작 전 체크포인트에 있던 사용자는 잡아 둔 좌석으로 원래 방에 (복원된 방은 항상 로컬 소유)
+                String resumeRoomId = roomCheckpoint.takeResumeRoom(session.getPrincipal());
+                if (resumeRoomId != null && gameRoomManager.resumeRoom(session, resumeRoomId)) {
+                    log.info("체크포인트 방으로 재입장: sessionId={}, roomId={}", session.getId(), resumeRoomId);
+                    return;
+                }
+            }
+            if (roomId != null && clusterRelay.relayJoin(session, roomId)) {
+                return;
+            }
+            // 그 외에는 지정한 방, 없으면 빈 자리가 있는 방을 찾아 입장시킴
+            if (roomId == null || !gameRoomManager.joinRoom(session, roomId)) {
+                gameRoomManager.matchPlayer(session);
+            }
+            log.info("웹소켓 연결 성공: sessionId={}", session.getId());
         } catch (Exception e) {
             log.error("웹소켓 연결 처리 중 에러 발생: {}", e.getMessage(), e);
             throw e;
         }
     }
 
+    private String requestedRoomId(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst("roomId");
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        // 하트비트 pong 과 일반 메시지 모두 연결이 살아 있다는 신호로 본다
+        heartbeatMonitor.touch(session.getId());
+        // 속도 제한은 파싱과 중계보다 먼저, 넘친 메시지는 조용히 버린다
+        if (!inputRateLimiter.tryAccept(session, message)) {
+            return;
+        }
+        // 다른 노드의 방으로 중계 중인 세션은 파싱하지 않고 그대로 넘긴다
+        if (clusterRelay.isRelayed(session.getId())) {
+            clusterRelay.forward(session, message);
+            return;
+        }
+        super.handleMessage(session, message);
+    }
+
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        log.info("메시지 수신: {} from {}", message.getPayload(), session.getId());
-        
+        long start = System.nanoTime();
+        String type = null;
         try {
-            Map<String, Object> data = objectMapper.readValue(message.getPayload(), Map.class);
-            String type = (String) data.get("type");
-            log.info("메시지 타입: {}", type);
-            
-            if ("MOVE".equals(type)) {
-                // 플레이어 이동 처리
-                GameRoom room = gameRoomManager.getPlayerRoom(session.getId());
-                if (room != null) {
+            GameMessage data = MessageCodec.read(message.getPayload());
+            type = data.type();
+            log.debug("메시지 수신: sessionId={}, type={}", session.getId(), type);
+
+            GameRoom room = gameRoomManager.getPlayerRoom(session.getId());
+            if (room == null) {
+                return;
+            }
+            switch (data) {
+                case GameMessage.Move move -> {
                     // 이동 방향 정보를 받아서 처리
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> direction = (Map<String, Object>) data.get("position");
-                    room.updateSharedPosition(direction);
-                    
-                    // 모든 플레이어의 위치 정보를 전송
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("type", "POSITION_UPDATE");
-                    response.put("roomId", room.getPlayerCount());
-                    response.put("position", room.getSharedPosition());
-                    String responseMessage = objectMapper.writeValueAsString(response);
-                    room.broadcastMessage(responseMessage);
-                    log.info("플레이어 이동 처리 완료: sessionId={}, roomId={}, direction={}", session.getId(), room.getRoomId(), direction);
+                    applyMove(session, room, move.position().x(), move.position().y());
+                    log.debug("플레이어 이동 처리 완료: sessionId={}, roomId={}, direction={}", session.getId(), room.getRoomId(), move.position());
+                }
+                // 순번 누락을 감지한 클라이언트에게 전체 상태 전송
+                case GameMessage.Sync sync -> room.submit(new RoomCommand.Sync(session.getId()));
+                // 출구 쪽 다음 한 칸과 남은 거리
+                case GameMessage.Hint hint -> room.submit(new RoomCommand.Hint(session.getId()));
+                // 알 수 없는 타입과 서버 -> 클라이언트 메시지는 무시
+                default -> {
                 }
             }
+        } catch (JsonProcessingException e) {
+            // 잘못된 JSON, position 이 없는 MOVE 등 클라이언트 입력 오류는 스택 없이 남기고 무시
+            log.warn("메시지 디코딩 실패: sessionId={}, error={}", session.getId(), e.getOriginalMessage());
         } catch (Exception e) {
             log.error("메시지 처리 중 에러 발생: {}", e.getMessage(), e);
+        } finally {
+            GameMetrics.recordSince(gameMetrics.jsonMessageTimer(type), start);
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        // 바이너리 프레임은 파싱 없이 고정 오프셋에서 바로 읽는다
+        long start = System.nanoTime();
+        ByteBuffer frame = message.getPayload();
+        GameRoom room = gameRoomManager.getPlayerRoom(session.getId());
+        if (room == null) {
+            return;
+        }
+
+        if (BinaryProtocol.isMove(frame)) {
+            applyMove(session, room, BinaryProtocol.moveX(frame), BinaryProtocol.moveY(frame));
+            GameMetrics.recordSince(gameMetrics.getBinaryMoveTimer(), start);
+        } else if (BinaryProtocol.isSync(frame)) {
+            room.submit(new RoomCommand.Sync(session.getId()));
+            GameMetrics.recordSince(gameMetrics.getBinarySyncTimer(), start);
+        } else if (BinaryProtocol.isHint(frame)) {
+            room.submit(new RoomCommand.Hint(session.getId()));
+            GameMetrics.recordSince(gameMetrics.getBinaryHintTimer(), start);
+        } else {
+            log.warn("알 수 없는 바이너리 메시지: sessionId={}, length={}", session.getId(), frame.remaining());
+            GameMetrics.recordSince(gameMetrics.getBinaryUnknownTimer(), start);
+        }
+    }
+
+    // 이동은 방 액터에 명령으로만 전달한다
+    private void applyMove(WebSocketSession session, GameRoom room, int moveX, int moveY) {
+        if (roomTickScheduler.isEnabled()) {
+            // 틱 모드: 입력은 방 큐에 쌓아두고 다음 틱에서 한 번에 반영/전송
+            room.submit(new RoomCommand.QueueMove(session.getId(), moveX, moveY));
+        } else {
+            room.submit(new RoomCommand.Move(session.getId(), moveX, moveY));
         }
     }
 
@@ -87,19 +172,13 @@ public class WebSocketHandler extends TextWebSocketHandler {
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         String sessionId = session.getId();
         log.info("웹소켓 연결 종료: sessionId={}, status={}", sessionId, status);
-        
-        GameRoom room = gameRoomManager.getPlayerRoom(sessionId);
-        if (room != null) {
-            // 퇴장 메시지 브로드캐스트
-            Map<String, Object> message = Map.of(
-                "type", "LEAVE",
-                "roomId", room.getRoomId(),
-                "playerId", sessionId,
-                "playerCount", room.getPlayerCount() - 1
-            );
-            room.broadcastMessage(objectMapper.writeValueAsString(message));
+        inputRateLimiter.remove(sessionId);
+
+        // 중계 중이던 세션은 소유 노드가 퇴장을 처리
+        if (clusterRelay.relayLeave(sessionId)) {
+            return;
         }
-        
+        // 퇴장 메시지 브로드캐스트는 방 액터가 처리
         gameRoomManager.removePlayerFromRoom(sessionId);
     }
 
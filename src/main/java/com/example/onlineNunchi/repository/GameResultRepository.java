@@ -0,0 +1,11 @@
+package com.example.onlineNunchi.repository;
+
+import com.example.onlineNunchi.entity.GameResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface GameResultRepository extends JpaRepository<GameResult, UUID> {
+}
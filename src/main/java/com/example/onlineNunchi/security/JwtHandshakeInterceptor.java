@@ -0,0 +1,89 @@
+package com.example.onlineNunchi.security;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+// 웹소켓 핸드셰이크 시점에 JWT 를 한 번만 검증하고 사용자 이름을 세션 속성에 고정
+// HttpSession 을 만들지 않으며, 잘못된 토큰은 업그레이드 전에 401 로 거절한다.
+// 토큰 위치: ?token=<jwt> 또는 Sec-WebSocket-Protocol 의 "bearer.<jwt>" 항목
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "principal";
+    private static final String TOKEN_PARAMETER = "token";
+    private static final String BEARER_PROTOCOL_PREFIX = "bearer.";
+
+    private final JwtUtil jwtUtil;
+
+    // false 면 토큰 없는 익명 접속도 허용 (토큰이 있으면 항상 검증)
+    @Value("${websocket.auth.required:false}")
+    private boolean authRequired;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = resolveToken(request);
+        if (token == null) {
+            if (authRequired) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            return true;
+        }
+
+        try {
+            JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+            if (verified.username() == null) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            attributes.put(PRINCIPAL_ATTRIBUTE, verified.username());
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("웹소켓 핸드셰이크 토큰 검증 실패: {}", e.getMessage());
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build()
+                .getQueryParams().getFirst(TOKEN_PARAMETER);
+        if (token != null && !token.isBlank()) {
+            return token;
+        }
+        // 브라우저는 헤더를 직접 못 붙이므로 서브프로토콜 목록에 토큰을 실어 보낸다
+        List<String> protocols = request.getHeaders().get("Sec-WebSocket-Protocol");
+        if (protocols == null) {
+            return null;
+        }
+        for (String header : protocols) {
+            for (String protocol : header.split(",")) {
+                String trimmed = protocol.trim();
+                if (trimmed.startsWith(BEARER_PROTOCOL_PREFIX)) {
+                    return trimmed.substring(BEARER_PROTOCOL_PREFIX.length());
+                }
+            }
+        }
+        return null;
+    }
+}
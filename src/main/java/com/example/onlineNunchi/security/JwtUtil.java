@@ -1,9 +1,14 @@
 package com.example.onlineNunchi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,10 +18,17 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -31,11 +43,54 @@ public class JwtUtil {
     @Value("${jwt.refresh-token.expiration}")
     private Long refreshTokenExpiration;
 
+    // 검증된 토큰 캐시 최대 개수, 각 항목은 토큰 만료 시각에 함께 만료된다
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize = 10_000;
+
     private final UserDetailsService userDetailsService;
 
+    // 키와 파서는 불변이고 스레드 안전하므로 한 번만 만든다
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    // 서명과 만료 검증을 통과한 토큰의 클레임
+    // 캐시를 통해 여러 요청이 같은 인스턴스를 공유하므로 변경 가능한 Claims/Date 대신 불변 값만 담는다
+    public record VerifiedToken(String username, Instant expiration, Map<String, Object> claims) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, token.expiration().toEpochMilli() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     public String generateAccessToken(UserDetails userDetails, Map<String, String> additionalClaims) {
@@ -57,9 +112,34 @@ public class JwtUtil {
                 .compact();
     }
 
+    // 토큰을 한 번만 파싱해 서명/만료를 검증하고 필요한 클레임을 모두 돌려준다
+    // 같은 토큰은 만료 전까지 캐시에서 바로 꺼내며, 캐시 키는 토큰 원문 대신 SHA-256 해시를 쓴다.
+    // 검증에 실패하면 jjwt 의 JwtException 을 그대로 던진다.
+    public VerifiedToken verify(String token) {
+        String key = hashToken(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiration().isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(key);
+        }
+
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                expiration != null ? expiration.toInstant() : null,
+                Collections.unmodifiableMap(new HashMap<>(claims)));
+        // 만료 시각이 없는 토큰은 캐시하지 않는다
+        if (verified.expiration() != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String studentID = extractUsername(token);
-        return (studentID.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified.username() != null && verified.username().equals(userDetails.getUsername());
     }
 
     public String extractUsername(String token) {
@@ -70,21 +150,22 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    // 호출마다 캐시된 클레임의 사본을 만들어 넘기므로 resolver 가 Claims 를 바꿔도 캐시에는 영향이 없다
     public <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(Jwts.claims(verify(token).claims()));
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
     }
 
     public String getUserDataFromToken(String token) {
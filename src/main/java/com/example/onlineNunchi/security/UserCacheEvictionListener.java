@@ -0,0 +1,24 @@
+package com.example.onlineNunchi.security;
+
+import com.example.onlineNunchi.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// User 엔티티가 수정/삭제되면 캐시된 UserDetails 를 비운다
+// 어떤 경로로 비밀번호나 아이디가 바뀌어도 다음 요청부터 새 정보로 인증된다.
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    // EntityManagerFactory 생성 중에 만들어지므로 순환을 피하려고 지연 조회
+    private final ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userDetailsService.getObject().evict(user);
+    }
+}
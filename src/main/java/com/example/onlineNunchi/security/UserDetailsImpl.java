@@ -1,6 +1,8 @@
 package com.example.onlineNunchi.security;
 
+import com.example.onlineNunchi.entity.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,6 +10,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
+@AllArgsConstructor
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
 
@@ -20,6 +23,10 @@ public class UserDetailsImpl implements UserDetails {
     @JsonIgnore
     private String password;
 
+    public static UserDetailsImpl build(User user) {
+        return new UserDetailsImpl(user.getId(), user.getUsername(), user.getPassword());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
@@ -1,21 +1,77 @@
 package com.example.onlineNunchi.security;
 
+import com.example.onlineNunchi.entity.User;
 import com.example.onlineNunchi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    // 인증된 요청마다 DB 를 조회하지 않도록 사용자 정보를 메모리에 캐시
+    @Value("${security.user-cache.maximum-size:10000}")
+    private long cacheMaximumSize = 10_000;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds = 300;
+
+    private Cache<String, UserDetailsImpl> userCache;
+
+    @PostConstruct
+    public void init() {
+        userCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions 등으로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return null;
+        // 없는 사용자는 캐시하지 않는다 (가입 직후 바로 조회될 수 있음)
+        return userCache.get(username, key -> {
+            User user = userRepository.findByUsername(key);
+            if (user == null) {
+                throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + key);
+            }
+            return UserDetailsImpl.build(user);
+        });
+    }
+
+    // 비밀번호 변경, 사용자 수정/삭제 시 호출 (UserCacheEvictionListener)
+    public void evict(User user) {
+        if (user.getUsername() != null) {
+            userCache.invalidate(user.getUsername());
+        }
+        // 아이디가 바뀐 경우 이전 아이디로 캐시된 항목도 제거
+        if (user.getId() != null) {
+            userCache.asMap().values().removeIf(cached -> user.getId().equals(cached.getId()));
+        }
+    }
+
+    public void evict(String username) {
+        userCache.invalidate(username);
+    }
+
+    public void evictAll() {
+        userCache.invalidateAll();
     }
 }
@@ -0,0 +1,130 @@
+package com.example.onlineNunchi.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.onlineNunchi.entity.GameResult;
+import com.example.onlineNunchi.escaperoom.GameFinished;
+import com.example.onlineNunchi.escaperoom.GameMetrics;
+import com.example.onlineNunchi.repository.GameResultRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 게임 결과 write-behind 저장
+// 방 액터는 큐에 넣고 바로 돌아가며(가득 차면 버림), 전용 스레드가 주기적으로 꺼내 batch-size 개씩 saveAll 한다.
+// saveAll 한 번이 트랜잭션 하나이고 INSERT 는 JDBC 배치로 묶이므로, 동시에 많이 끝나도 DB 왕복은 몇 번이다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameResultWriter {
+
+    private final GameResultRepository gameResultRepository;
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.results.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.results.batch-size:50}")
+    private int batchSize;
+
+    @Value("${game.results.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${game.results.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<GameFinished> queue;
+    private final LongAdder savedResults = new LongAdder();
+    private final LongAdder droppedResults = new LongAdder();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        FunctionCounter.builder("game.results.saved", savedResults, LongAdder::sum)
+            .description("저장한 게임 결과 수")
+            .register(gameMetrics.getRegistry());
+        FunctionCounter.builder("game.results.dropped", droppedResults, LongAdder::sum)
+            .description("큐가 가득 차거나 저장에 실패해 버린 게임 결과 수")
+            .register(gameMetrics.getRegistry());
+        Gauge.builder("game.results.pending", queue, BlockingQueue::size)
+            .description("저장을 기다리는 게임 결과 수")
+            .register(gameMetrics.getRegistry());
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-result-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("게임 결과 저장 시작: 배치 {}개, 주기 {}ms", batchSize, flushIntervalMillis);
+    }
+
+    // 종료 시 남은 결과를 마저 저장한다
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // 방 액터 스레드에서 호출, DB 를 기다리지 않는다
+    public void submit(GameFinished result) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(result)) {
+            droppedResults.increment();
+            log.warn("게임 결과 큐가 가득 차 결과를 버립니다: roomId={}", result.roomId());
+        }
+    }
+
+    private synchronized void flush() {
+        List<GameFinished> drained = new ArrayList<>(batchSize);
+        while (queue.drainTo(drained, batchSize) > 0) {
+            List<GameResult> batch = new ArrayList<>(drained.size());
+            for (GameFinished result : drained) {
+                batch.add(toEntity(result));
+            }
+            try {
+                gameResultRepository.saveAll(batch);
+                savedResults.add(batch.size());
+                log.debug("게임 결과 {}건 저장", batch.size());
+            } catch (Exception e) {
+                droppedResults.add(batch.size());
+                log.error("게임 결과 {}건 저장 실패: {}", batch.size(), e.getMessage(), e);
+            }
+            drained.clear();
+        }
+    }
+
+    private static GameResult toEntity(GameFinished result) {
+        return new GameResult(result.roomId(), result.mazeSeed(), String.join(",", result.players()),
+            result.moveCount(), Instant.ofEpochMilli(result.startedAtMillis()),
+            Instant.ofEpochMilli(result.finishedAtMillis()));
+    }
+}
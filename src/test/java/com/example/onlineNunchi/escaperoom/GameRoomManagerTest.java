@@ -0,0 +1,173 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.example.onlineNunchi.cluster.ClusterTopology;
+import com.example.onlineNunchi.service.GameResultWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameRoomManagerTest {
+
+	private GameRoomManager gameRoomManager;
+
+	@BeforeEach
+	void setUp() {
+		GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+		OutboundPolicy outboundPolicy = new OutboundPolicy(gameMetrics);
+		ReflectionTestUtils.setField(outboundPolicy, "sendTimeLimitMillis", 2000L);
+		ReflectionTestUtils.setField(outboundPolicy, "bufferSizeLimit", 65536);
+
+		MazePool mazePool = mock(MazePool.class);
+		when(mazePool.acquire()).thenReturn(MazeGrid.empty(1L, 8, 8));
+		ClusterTopology clusterTopology = mock(ClusterTopology.class);
+		when(clusterTopology.isLocal(anyString())).thenReturn(true);
+		MoveJournal moveJournal = mock(MoveJournal.class);
+		when(moveJournal.open(anyString(), any())).thenReturn(RoomJournal.DISABLED);
+
+		gameRoomManager = new GameRoomManager(mazePool, outboundPolicy, gameMetrics, clusterTopology,
+			mock(HeartbeatMonitor.class), mock(GameResultWriter.class), moveJournal);
+		gameRoomManager.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		List.copyOf(gameRoomManager.getGameRooms().keySet()).forEach(gameRoomManager::removeRoom);
+	}
+
+	// 사람이 많은 방부터 채우고, 가득 찬 방은 인덱스에서 빠진다
+	@Test
+	void matchPlayerFillsFullestOpenRoomFirst() {
+		GameRoom crowded = gameRoomManager.createRoom();
+		GameRoom quiet = gameRoomManager.createRoom();
+		for (int i = 0; i < 3; i++) {
+			assertThat(gameRoomManager.joinRoom(session("crowded-" + i), crowded.getRoomId())).isTrue();
+		}
+		assertThat(gameRoomManager.joinRoom(session("quiet-0"), quiet.getRoomId())).isTrue();
+
+		gameRoomManager.matchPlayer(session("p1"));
+		gameRoomManager.matchPlayer(session("p2"));
+		gameRoomManager.matchPlayer(session("p3"));
+
+		assertThat(gameRoomManager.getPlayerRoom("p1")).isSameAs(crowded);
+		assertThat(gameRoomManager.getPlayerRoom("p2")).isSameAs(crowded);
+		assertThat(crowded.getReservedSeats()).isEqualTo(GameRoom.MAX_PLAYERS);
+		assertThat(crowded.isFull()).isTrue();
+		assertThat(gameRoomManager.getPlayerRoom("p3")).isSameAs(quiet);
+		assertThat(quiet.getReservedSeats()).isEqualTo(2);
+		assertThat(gameRoomManager.getActivePlayerCount()).isEqualTo(7);
+	}
+
+	@Test
+	void joinRoomRejectsFullRoom() {
+		GameRoom room = gameRoomManager.createRoom();
+		for (int i = 0; i < GameRoom.MAX_PLAYERS; i++) {
+			assertThat(gameRoomManager.joinRoom(session("p" + i), room.getRoomId())).isTrue();
+		}
+
+		assertThat(gameRoomManager.joinRoom(session("late"), room.getRoomId())).isFalse();
+		assertThat(gameRoomManager.joinRoom(session("nowhere"), "missing-room")).isFalse();
+		assertThat(room.getReservedSeats()).isEqualTo(GameRoom.MAX_PLAYERS);
+	}
+
+	// 동시에 매칭해도 좌석은 CAS 로만 예약되므로 어떤 방도 정원을 넘지 않는다
+	@Test
+	void concurrentMatchingNeverOverfillsRooms() throws Exception {
+		int players = 200;
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < players; i++) {
+			WebSocketSession session = session("p" + i);
+			futures.add(executor.submit(() -> {
+				start.await();
+				gameRoomManager.matchPlayer(session);
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		int reserved = 0;
+		for (GameRoom room : gameRoomManager.getGameRooms().values()) {
+			assertThat(room.getReservedSeats()).isBetween(1, GameRoom.MAX_PLAYERS);
+			reserved += room.getReservedSeats();
+		}
+		assertThat(reserved).isEqualTo(players);
+		assertThat(gameRoomManager.getActivePlayerCount()).isEqualTo(players);
+		for (int i = 0; i < players; i++) {
+			assertThat(gameRoomManager.getPlayerRoom("p" + i)).isNotNull();
+		}
+	}
+
+	// 마지막 플레이어가 나가면 방 액터가 좌석을 반납하고 빈 방을 닫는다
+	@Test
+	void lastLeaveClosesAndRemovesRoom() throws Exception {
+		gameRoomManager.matchPlayer(session("p1"));
+		GameRoom room = gameRoomManager.getPlayerRoom("p1");
+
+		gameRoomManager.removePlayerFromRoom("p1");
+
+		await(() -> !gameRoomManager.getGameRooms().containsKey(room.getRoomId()));
+		assertThat(gameRoomManager.getActivePlayerCount()).isZero();
+		assertThat(gameRoomManager.getActiveRoomCount()).isZero();
+		assertThat(room.tryReserveSeat(0)).isFalse();
+	}
+
+	// 제거된 방의 메일박스에 남은 퇴장은 좌석을 다시 반납하지 않고 방을 인덱스에 되돌리지 않는다
+	@Test
+	void queuedLeaveAfterRemovalIsNotCountedTwice() throws Exception {
+		GameRoom room = gameRoomManager.createRoom();
+		gameRoomManager.joinRoom(session("p1"), room.getRoomId());
+		gameRoomManager.joinRoom(session("p2"), room.getRoomId());
+
+		gameRoomManager.removePlayerFromRoom("p1");
+		gameRoomManager.removeRoom(room.getRoomId());
+		await(room::isStopped);
+		Thread.sleep(50);
+
+		assertThat(gameRoomManager.getActivePlayerCount()).isZero();
+		gameRoomManager.matchPlayer(session("p3"));
+		assertThat(gameRoomManager.getPlayerRoom("p3")).isNotSameAs(room);
+	}
+
+	private static WebSocketSession session(String id) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		return session;
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				fail("조건이 5초 안에 충족되지 않았습니다");
+			}
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameRoomTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private OutboundPolicy outboundPolicy;
+	private GameRoom room;
+
+	@BeforeEach
+	void setUp() {
+		outboundPolicy = new OutboundPolicy(new GameMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(outboundPolicy, "sendTimeLimitMillis", 2000L);
+		ReflectionTestUtils.setField(outboundPolicy, "bufferSizeLimit", 65536);
+
+		room = new GameRoom("seq-room", MazeGrid.empty(1L, 8, 8));
+		room.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		room.stop();
+	}
+
+	// 입장/이동/퇴장마다 순번이 하나씩 늘고, 기존 플레이어는 장애물 없는 입장 정보만 받는다
+	@Test
+	void joinMoveAndLeaveAdvanceSequence() throws Exception {
+		BlockingQueue<String> first = new LinkedBlockingQueue<>();
+		BlockingQueue<String> second = new LinkedBlockingQueue<>();
+
+		room.submit(new RoomCommand.Join(connection("p1", first)));
+		JsonNode join = next(first);
+		assertThat(join.get("type").asText()).isEqualTo("JOIN");
+		assertThat(join.get("seq").asLong()).isEqualTo(1);
+		assertThat(join.has("obstacles")).isTrue();
+
+		room.submit(new RoomCommand.Join(connection("p2", second)));
+		assertThat(next(second).get("seq").asLong()).isEqualTo(2);
+		JsonNode delta = next(first);
+		assertThat(delta.get("seq").asLong()).isEqualTo(2);
+		assertThat(delta.get("playerId").asText()).isEqualTo("p2");
+		assertThat(delta.get("playerCount").asInt()).isEqualTo(2);
+		assertThat(delta.has("obstacles")).isFalse();
+
+		room.submit(new RoomCommand.Move("p1", 1, 0));
+		JsonNode update = next(first);
+		assertThat(update.get("type").asText()).isEqualTo("POSITION_UPDATE");
+		assertThat(update.get("seq").asLong()).isEqualTo(3);
+		assertThat(update.get("position").get("x").asInt()).isEqualTo(1);
+		assertThat(next(second).get("seq").asLong()).isEqualTo(3);
+
+		room.submit(new RoomCommand.Leave("p2"));
+		JsonNode leave = next(first);
+		assertThat(leave.get("type").asText()).isEqualTo("LEAVE");
+		assertThat(leave.get("seq").asLong()).isEqualTo(4);
+		assertThat(leave.get("playerCount").asInt()).isEqualTo(1);
+		assertThat(capture().sequence()).isEqualTo(4);
+	}
+
+	// 막힌 이동은 위치도 순번도 바꾸지 않는다
+	@Test
+	void blockedMoveKeepsSequence() throws Exception {
+		BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+		room.submit(new RoomCommand.Join(connection("p1", messages)));
+		next(messages);
+
+		room.submit(new RoomCommand.Move("p1", -1, 0));
+		RoomState state = capture();
+
+		assertThat(state.sequence()).isEqualTo(1);
+		assertThat(state.positionX()).isZero();
+		assertThat(state.moveCount()).isZero();
+		assertThat(messages).isEmpty();
+	}
+
+	// SNAPSHOT 은 현재 순번을 그대로 알려 주고 순번을 늘리지 않는다
+	@Test
+	void snapshotReportsCurrentSequenceWithoutAdvancing() throws Exception {
+		BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+		room.submit(new RoomCommand.Join(connection("p1", messages)));
+		next(messages);
+		room.submit(new RoomCommand.Move("p1", 0, 1));
+		next(messages);
+
+		room.submit(new RoomCommand.Sync("p1"));
+		JsonNode snapshot = next(messages);
+		assertThat(snapshot.get("type").asText()).isEqualTo("SNAPSHOT");
+		assertThat(snapshot.get("seq").asLong()).isEqualTo(2);
+		assertThat(snapshot.get("position").get("y").asInt()).isEqualTo(1);
+		assertThat(snapshot.get("players").get(0).asText()).isEqualTo("p1");
+
+		room.submit(new RoomCommand.Sync("p1"));
+		assertThat(next(messages).get("seq").asLong()).isEqualTo(2);
+		assertThat(capture().sequence()).isEqualTo(2);
+
+		room.submit(new RoomCommand.Move("p1", 0, 1));
+		assertThat(next(messages).get("seq").asLong()).isEqualTo(3);
+	}
+
+	private PlayerConnection connection(String id, BlockingQueue<String> received) throws Exception {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		doAnswer(invocation -> {
+			WebSocketMessage<?> message = invocation.getArgument(0);
+			received.add((String) message.getPayload());
+			return null;
+		}).when(session).sendMessage(any());
+		return new PlayerConnection(session, outboundPolicy);
+	}
+
+	private JsonNode next(BlockingQueue<String> received) throws Exception {
+		String message = received.poll(5, TimeUnit.SECONDS);
+		assertThat(message).as("5초 안에 메시지를 받지 못했습니다").isNotNull();
+		return objectMapper.readTree(message);
+	}
+
+	// 액터가 앞선 명령을 모두 처리한 뒤의 상태
+	private RoomState capture() throws Exception {
+		CompletableFuture<RoomState> result = new CompletableFuture<>();
+		room.submit(new RoomCommand.Capture(result));
+		return result.get(5, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HeartbeatMonitorTest {
+
+	private static final long IDLE_TTL_MILLIS = 60_000;
+
+	private GameRoomManager gameRoomManager;
+	private HeartbeatMonitor heartbeatMonitor;
+	private GameRoom room;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		gameRoomManager = mock(GameRoomManager.class);
+		ObjectProvider<GameRoomManager> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(gameRoomManager);
+		heartbeatMonitor = new HeartbeatMonitor(new GameMetrics(new SimpleMeterRegistry()), provider);
+		ReflectionTestUtils.setField(heartbeatMonitor, "roomIdleTtlMillis", IDLE_TTL_MILLIS);
+		heartbeatMonitor.start();
+
+		room = new GameRoom("idle-room", MazeGrid.empty(1L, 8, 8));
+		when(gameRoomManager.getRoom(room.getRoomId())).thenReturn(room);
+		room.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		room.stop();
+	}
+
+	// 체크포인트의 상태 복사는 플레이어 활동이 아니므로 유휴 방이 계속 살아 있으면 안 된다
+	@Test
+	void checkpointedIdleRoomIsStillReaped() throws Exception {
+		ReflectionTestUtils.setField(room, "lastActivityMillis", System.currentTimeMillis() - IDLE_TTL_MILLIS * 2);
+
+		CompletableFuture<RoomState> capture = new CompletableFuture<>();
+		room.submit(new RoomCommand.Capture(capture));
+		assertThat(capture.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(room.getIdleMillis()).isGreaterThan(IDLE_TTL_MILLIS);
+
+		Boolean keepWatching = ReflectionTestUtils.invokeMethod(heartbeatMonitor, "checkRoom", room);
+
+		assertThat(keepWatching).isFalse();
+		verify(gameRoomManager).reapRoom(room);
+		assertThat(heartbeatMonitor.getReapedRooms()).isEqualTo(1);
+	}
+
+	@Test
+	void playerCommandResetsIdleTime() throws Exception {
+		ReflectionTestUtils.setField(room, "lastActivityMillis", System.currentTimeMillis() - IDLE_TTL_MILLIS * 2);
+
+		room.submit(new RoomCommand.Sync("unknown-session"));
+		// 메일박스는 순서대로 처리되므로 Capture 가 끝나면 앞의 Sync 도 처리된 것
+		CompletableFuture<RoomState> capture = new CompletableFuture<>();
+		room.submit(new RoomCommand.Capture(capture));
+		capture.get(5, TimeUnit.SECONDS);
+
+		assertThat(room.getIdleMillis()).isLessThan(IDLE_TTL_MILLIS);
+	}
+}
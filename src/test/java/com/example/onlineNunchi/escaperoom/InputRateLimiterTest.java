@@ -0,0 +1,41 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InputRateLimiterTest {
+
+	@Test
+	void topLevelMoveTypeIsMove() {
+		assertThat(InputRateLimiter.isMoveText("{\"type\":\"MOVE\",\"position\":{\"x\":1,\"y\":0}}")).isTrue();
+		assertThat(InputRateLimiter.isMoveText(" { \"position\" : {\"x\":1,\"y\":0} , \"type\" : \"MOVE\" }")).isTrue();
+		// 문자열 안의 따옴표와 중괄호는 구조로 보지 않는다
+		assertThat(InputRateLimiter.isMoveText("{\"note\":\"say \\\"type\\\":\\\"SYNC\\\" {\",\"type\":\"MOVE\"}")).isTrue();
+	}
+
+	// 중첩 객체나 배열 안의 type 으로 다른 메시지를 MOVE 버킷에 태울 수 없다
+	@Test
+	void nestedTypeIsIgnored() {
+		assertThat(InputRateLimiter.isMoveText("{\"position\":{\"type\":\"MOVE\"},\"type\":\"SYNC\"}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("{\"list\":[{\"type\":\"MOVE\"}]}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("[{\"type\":\"MOVE\"}]")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("{\"note\":\"\\\"type\\\":\\\"MOVE\\\"\"}")).isFalse();
+	}
+
+	// 키가 여러 번 나오면 MessageCodec 과 같이 마지막 값을 따른다
+	@Test
+	void lastTopLevelTypeWins() {
+		assertThat(InputRateLimiter.isMoveText("{\"type\":\"MOVE\",\"type\":\"HINT\"}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("{\"type\":\"HINT\",\"type\":\"MOVE\"}")).isTrue();
+	}
+
+	@Test
+	void otherPayloadsAreNotMove() {
+		assertThat(InputRateLimiter.isMoveText("{\"type\":\"SYNC\"}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("{\"type\":\"MOVES\"}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("{\"types\":\"MOVE\"}")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("\"MOVE\"")).isFalse();
+		assertThat(InputRateLimiter.isMoveText("")).isFalse();
+	}
+}
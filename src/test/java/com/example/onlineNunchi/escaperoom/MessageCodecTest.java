@@ -0,0 +1,90 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+class MessageCodecTest {
+
+	private static final GameMessage.Position POSITION = new GameMessage.Position(1, 2);
+
+	// 송신 메시지는 기존 Map 기반 형식과 필드 순서까지 같은 바이트로 나가야 한다
+	@Test
+	void joinIsWrittenInWireFormat() {
+		GameMessage.Join full = new GameMessage.Join("r", 1, "p1", 1, POSITION, 4,
+			new RawValue("[{\"x\":0,\"y\":1}]"));
+		assertThat(MessageCodec.write(full)).isEqualTo(
+			"{\"type\":\"JOIN\",\"roomId\":\"r\",\"seq\":1,\"playerId\":\"p1\",\"playerCount\":1,"
+				+ "\"position\":{\"x\":1,\"y\":2},\"distance\":4,\"obstacles\":[{\"x\":0,\"y\":1}]}");
+
+		// 기존 플레이어에게 보내는 변경분은 null 필드를 뺀다
+		GameMessage.Join delta = new GameMessage.Join("r", 2, "p2", 2);
+		assertThat(MessageCodec.write(delta)).isEqualTo(
+			"{\"type\":\"JOIN\",\"roomId\":\"r\",\"seq\":2,\"playerId\":\"p2\",\"playerCount\":2}");
+	}
+
+	@Test
+	void roomEventsAreWrittenInWireFormat() {
+		assertThat(MessageCodec.write(new GameMessage.Leave("r", 3, "p1", 1))).isEqualTo(
+			"{\"type\":\"LEAVE\",\"roomId\":\"r\",\"seq\":3,\"playerId\":\"p1\",\"playerCount\":1}");
+		assertThat(MessageCodec.write(new GameMessage.PositionUpdate("r", 3, POSITION, 4))).isEqualTo(
+			"{\"type\":\"POSITION_UPDATE\",\"roomId\":\"r\",\"seq\":3,\"position\":{\"x\":1,\"y\":2},\"distance\":4}");
+		assertThat(MessageCodec.write(new GameMessage.ExitReached("r", 3, POSITION))).isEqualTo(
+			"{\"type\":\"EXIT_REACHED\",\"roomId\":\"r\",\"seq\":3,\"position\":{\"x\":1,\"y\":2}}");
+	}
+
+	@Test
+	void responsesAreWrittenInWireFormat() {
+		GameMessage.Snapshot snapshot = new GameMessage.Snapshot("r", 3, POSITION, 4, true, 2, List.of("a", "b"));
+		assertThat(MessageCodec.write(snapshot)).isEqualTo(
+			"{\"type\":\"SNAPSHOT\",\"roomId\":\"r\",\"seq\":3,\"position\":{\"x\":1,\"y\":2},\"distance\":4,"
+				+ "\"escaped\":true,\"playerCount\":2,\"players\":[\"a\",\"b\"]}");
+
+		GameMessage.HintResponse hint = new GameMessage.HintResponse("r", POSITION, 4, new GameMessage.Position(0, -1));
+		assertThat(MessageCodec.write(hint)).isEqualTo(
+			"{\"type\":\"HINT\",\"roomId\":\"r\",\"position\":{\"x\":1,\"y\":2},\"distance\":4,\"next\":{\"x\":0,\"y\":-1}}");
+
+		// 이미 출구에 있으면 next 를 생략한다
+		GameMessage.HintResponse atExit = new GameMessage.HintResponse("r", POSITION, 0, null);
+		assertThat(MessageCodec.write(atExit)).isEqualTo(
+			"{\"type\":\"HINT\",\"roomId\":\"r\",\"position\":{\"x\":1,\"y\":2},\"distance\":0}");
+	}
+
+	// type 이 position 뒤에 와도 되고, 모르는 필드는 무시한다
+	@Test
+	void moveIsReadInEitherFieldOrder() throws Exception {
+		assertThat(MessageCodec.read("{\"type\":\"MOVE\",\"position\":{\"x\":1,\"y\":-1}}"))
+			.isEqualTo(new GameMessage.Move(new GameMessage.Position(1, -1)));
+		assertThat(MessageCodec.read("{\"position\":{\"x\":0,\"y\":1,\"z\":9},\"extra\":[1,{\"a\":2}],\"type\":\"MOVE\"}"))
+			.isEqualTo(new GameMessage.Move(new GameMessage.Position(0, 1)));
+		assertThat(MessageCodec.read("{\"type\":\"SYNC\"}")).isInstanceOf(GameMessage.Sync.class);
+		assertThat(MessageCodec.read("{\"type\":\"HINT\"}")).isInstanceOf(GameMessage.Hint.class);
+	}
+
+	// position 이 없거나 좌표가 빠진 MOVE 는 0 으로 채우지 않는다
+	@Test
+	void moveWithoutCompletePositionIsRejected() {
+		assertThatThrownBy(() -> MessageCodec.read("{\"type\":\"MOVE\"}"))
+			.isInstanceOf(MismatchedInputException.class);
+		assertThatThrownBy(() -> MessageCodec.read("{\"type\":\"MOVE\",\"position\":{\"x\":1}}"))
+			.isInstanceOf(MismatchedInputException.class);
+		assertThatThrownBy(() -> MessageCodec.read("{\"type\":\"MOVE\",\"position\":{\"x\":1,\"y\":null}}"))
+			.isInstanceOf(MismatchedInputException.class);
+	}
+
+	// 객체나 배열인 type 은 통째로 건너뛰므로 그 안의 필드가 최상위 필드로 읽히지 않는다
+	@Test
+	void nonScalarTypeIsSkipped() throws Exception {
+		assertThat(MessageCodec.read("{\"type\":{\"type\":\"MOVE\",\"position\":{\"x\":1,\"y\":0}}}"))
+			.isEqualTo(new GameMessage.Unknown(null));
+		assertThat(MessageCodec.read("{\"type\":[\"SYNC\"]}")).isEqualTo(new GameMessage.Unknown(null));
+		assertThat(MessageCodec.read("{\"type\":\"DANCE\"}")).isEqualTo(new GameMessage.Unknown("DANCE"));
+		assertThat(MessageCodec.read("[{\"type\":\"MOVE\"}]")).isEqualTo(new GameMessage.Unknown(null));
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MoveJournalTest {
+
+	// 세그먼트 하나에 헤더 포함 4슬롯
+	private static final long SEGMENT_SIZE = 4L * RoomJournal.RECORD_SIZE;
+
+	@TempDir
+	Path directory;
+
+	private final MazeGrid maze = MazeGrid.empty(42L, 8, 8);
+	private MoveJournal moveJournal;
+
+	@BeforeEach
+	void setUp() {
+		moveJournal = moveJournal();
+	}
+
+	// 세그먼트 경계를 넘겨 기록해도 재생하면 헤더와 레코드가 순서대로 이어진다
+	@Test
+	void recordsAcrossSegmentsAreReplayedInOrder() throws IOException {
+		String sessionId = UUID.randomUUID().toString();
+		RoomJournal journal = moveJournal.open("room-1", maze);
+		for (int i = 1; i <= 9; i++) {
+			journal.append(sessionId, 1, 0, i, 0);
+		}
+		assertThat(journal.getSlots()).isEqualTo(10);
+
+		try (MoveJournal.Replay replay = moveJournal.openReplay("room-1")) {
+			assertThat(replay.getLength()).isEqualTo(10L * RoomJournal.RECORD_SIZE);
+		}
+		journal.close();
+
+		Path roomDirectory = directory.resolve("room-1");
+		assertThat(Files.size(RoomJournal.segmentPath(roomDirectory, 2))).isEqualTo(2L * RoomJournal.RECORD_SIZE);
+
+		ByteBuffer bytes = replay("room-1");
+		assertThat(bytes.remaining()).isEqualTo(10 * RoomJournal.RECORD_SIZE);
+		assertThat(bytes.getInt(0)).isEqualTo(RoomJournal.MAGIC);
+		assertThat(bytes.getShort(4)).isEqualTo(RoomJournal.VERSION);
+		assertThat(bytes.getShort(6)).isEqualTo((short) RoomJournal.RECORD_SIZE);
+		assertThat(bytes.getLong(8)).isEqualTo(42L);
+		assertThat(bytes.getInt(16)).isEqualTo(8);
+		assertThat(bytes.getInt(20)).isEqualTo(8);
+
+		UUID uuid = UUID.fromString(sessionId);
+		for (int i = 1; i <= 9; i++) {
+			int offset = i * RoomJournal.RECORD_SIZE;
+			assertThat(bytes.getLong(offset)).isPositive();
+			assertThat(bytes.getLong(offset + 8)).isEqualTo(uuid.getMostSignificantBits());
+			assertThat(bytes.getLong(offset + 16)).isEqualTo(uuid.getLeastSignificantBits());
+			assertThat(bytes.get(offset + 24)).isEqualTo((byte) 1);
+			assertThat(bytes.get(offset + 25)).isEqualTo((byte) 0);
+			assertThat(bytes.getShort(offset + 26)).isEqualTo((short) i);
+			assertThat(bytes.getShort(offset + 28)).isZero();
+		}
+	}
+
+	// 닫히지 않은 기록(비정상 종료)은 마지막 세그먼트의 빈 슬롯을 건너뛰고 완성된 레코드까지만 재생한다
+	@Test
+	void unclosedJournalIsReplayedUpToLastRecord() throws IOException {
+		RoomJournal journal = moveJournal.open("room-2", maze);
+		for (int i = 1; i <= 5; i++) {
+			journal.append("player", 0, 1, 0, i);
+		}
+
+		try {
+			Path lastSegment = RoomJournal.segmentPath(directory.resolve("room-2"), 1);
+			assertThat(Files.size(lastSegment)).isEqualTo(SEGMENT_SIZE);
+
+			// 기록 중인 방을 모르는 새 인스턴스 (재시작 후와 같다)
+			try (MoveJournal.Replay replay = moveJournal().openReplay("room-2")) {
+				assertThat(replay.getLength()).isEqualTo(6L * RoomJournal.RECORD_SIZE);
+				assertThat(replay.getMazeSeed()).isEqualTo(42L);
+			}
+		} finally {
+			journal.close();
+		}
+	}
+
+	// 같은 방의 기록을 다시 열면 헤더를 새로 쓰지 않고 기존 기록 끝에서 이어 쓴다
+	@Test
+	void reopenedJournalAppendsAfterExistingRecords() throws IOException {
+		RoomJournal journal = moveJournal.open("room-3", maze);
+		journal.append("player", 1, 0, 1, 0);
+		journal.append("player", 1, 0, 2, 0);
+		journal.close();
+
+		RoomJournal resumed = moveJournal.open("room-3", maze);
+		assertThat(resumed.getSlots()).isEqualTo(-1);
+		resumed.append("player", 0, 1, 2, 1);
+		assertThat(resumed.getSlots()).isEqualTo(4);
+		resumed.close();
+
+		ByteBuffer bytes = replay("room-3");
+		assertThat(bytes.remaining()).isEqualTo(4 * RoomJournal.RECORD_SIZE);
+		assertThat(bytes.getInt(0)).isEqualTo(RoomJournal.MAGIC);
+		int last = 3 * RoomJournal.RECORD_SIZE;
+		assertThat(bytes.getShort(last + 26)).isEqualTo((short) 2);
+		assertThat(bytes.getShort(last + 28)).isEqualTo((short) 1);
+	}
+
+	@Test
+	void invalidRoomIdIsNotJournaled() throws IOException {
+		assertThat(moveJournal.open("../escape", maze)).isSameAs(RoomJournal.DISABLED);
+		assertThat(moveJournal.openReplay("../escape")).isNull();
+		assertThat(moveJournal.openReplay("missing-room")).isNull();
+	}
+
+	private MoveJournal moveJournal() {
+		MoveJournal journal = new MoveJournal();
+		ReflectionTestUtils.setField(journal, "enabled", true);
+		ReflectionTestUtils.setField(journal, "directory", directory);
+		ReflectionTestUtils.setField(journal, "segmentSize", SEGMENT_SIZE);
+		journal.init();
+		return journal;
+	}
+
+	private ByteBuffer replay(String roomId) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (MoveJournal.Replay replay = moveJournal.openReplay(roomId)) {
+			replay.transferTo(Channels.newChannel(output));
+		}
+		return ByteBuffer.wrap(output.toByteArray());
+	}
+}
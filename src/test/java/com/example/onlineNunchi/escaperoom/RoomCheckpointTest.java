@@ -0,0 +1,207 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RoomCheckpointTest {
+
+	@TempDir
+	Path directory;
+
+	private OutboundPolicy outboundPolicy;
+	private MazeGrid maze;
+	private GameRoom room;
+	private GameRoomManager restoringManager;
+	private RoomCheckpoint restoring;
+
+	@BeforeEach
+	void setUp() {
+		outboundPolicy = new OutboundPolicy(new GameMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(outboundPolicy, "sendTimeLimitMillis", 2000L);
+		ReflectionTestUtils.setField(outboundPolicy, "bufferSizeLimit", 65536);
+
+		// (1, 1) 에 벽이 하나 있는 미로, 벽 비트셋도 함께 저장되는지 확인한다
+		maze = MazeGrid.restore(7L, 8, 8, new long[] {1L << 9});
+		room = new GameRoom("checkpoint-room", maze);
+		room.start();
+
+		restoringManager = mock(GameRoomManager.class);
+		when(restoringManager.restoreRoom(any())).thenAnswer(invocation -> {
+			RoomState state = invocation.getArgument(0);
+			return new GameRoom(state.roomId(), state.maze());
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		room.stop();
+		if (restoring != null) {
+			ReflectionTestUtils.setField(restoring, "enabled", false);
+			restoring.stop();
+		}
+	}
+
+	// 저장한 방 상태를 그대로 다시 읽어 같은 ID 의 방으로 복원한다, 인증되지 않은 세션은 저장하지 않는다
+	@Test
+	void checkpointRoundTripRestoresRoomState() throws Exception {
+		room.submit(new RoomCommand.Join(connection("s1", "alice")));
+		room.submit(new RoomCommand.Join(connection("s2", "bob")));
+		room.submit(new RoomCommand.Join(connection("s3", null)));
+		room.submit(new RoomCommand.Move("s1", 1, 0));
+		RoomState saved = capture();
+
+		writeCheckpoint();
+		restoring = restoringCheckpoint();
+		restoring.restore();
+
+		ArgumentCaptor<RoomState> restored = ArgumentCaptor.forClass(RoomState.class);
+		verify(restoringManager).restoreRoom(restored.capture());
+		RoomState state = restored.getValue();
+		assertThat(state.roomId()).isEqualTo("checkpoint-room");
+		assertThat(state.positionX()).isEqualTo(1);
+		assertThat(state.positionY()).isZero();
+		assertThat(state.sequence()).isEqualTo(saved.sequence());
+		assertThat(state.moveCount()).isEqualTo(1);
+		assertThat(state.escaped()).isFalse();
+		assertThat(state.createdAtMillis()).isEqualTo(saved.createdAtMillis());
+		assertThat(state.players()).containsExactlyInAnyOrder("alice", "bob");
+		assertThat(state.maze().getSeed()).isEqualTo(7L);
+		assertThat(state.maze().getColumns()).isEqualTo(8);
+		assertThat(state.maze().getRows()).isEqualTo(8);
+		assertThat(state.maze().getWallBits()).containsExactly(maze.getWallBits());
+	}
+
+	// 재접속한 사용자는 한 번만 원래 방을 돌려받고, 제한 시간이 지나면 돌아오지 않은 사용자의 좌석만 반납한다
+	@Test
+	void resumeRoomIsTakenOnceAndUnclaimedSeatsAreReleased() throws Exception {
+		room.submit(new RoomCommand.Join(connection("s1", "alice")));
+		room.submit(new RoomCommand.Join(connection("s2", "bob")));
+		capture();
+		writeCheckpoint();
+		restoring = restoringCheckpoint();
+		restoring.restore();
+
+		assertThat(restoring.takeResumeRoom(principal("alice"))).isEqualTo("checkpoint-room");
+		assertThat(restoring.takeResumeRoom(principal("alice"))).isNull();
+		assertThat(restoring.takeResumeRoom(principal("mallory"))).isNull();
+		assertThat(restoring.takeResumeRoom(null)).isNull();
+
+		ReflectionTestUtils.invokeMethod(restoring, "expireResumableRooms");
+
+		verify(restoringManager, times(1)).releaseHeldSeat("checkpoint-room");
+		assertThat(restoring.takeResumeRoom(principal("bob"))).isNull();
+	}
+
+	@Test
+	void resumeRoomIsNotReturnedAfterDeadline() throws Exception {
+		room.submit(new RoomCommand.Join(connection("s1", "alice")));
+		capture();
+		writeCheckpoint();
+		restoring = restoringCheckpoint();
+		restoring.restore();
+
+		ReflectionTestUtils.setField(restoring, "resumeDeadlineMillis", System.currentTimeMillis() - 1);
+
+		assertThat(restoring.takeResumeRoom(principal("alice"))).isNull();
+		verify(restoringManager, never()).releaseHeldSeat(anyString());
+	}
+
+	// 복원된 방은 체크포인트의 플레이어 수만큼 좌석을 잡아 두고, 돌아오지 않은 좌석은 액터가 반납한다
+	@Test
+	void restoredRoomHoldsSeatsUntilReleased() throws Exception {
+		AtomicInteger released = new AtomicInteger();
+		GameRoom restored = new GameRoom("restored-room", maze, seatRoom -> released.incrementAndGet(),
+			result -> { }, RoomJournal.DISABLED);
+		restored.restore(new RoomState("restored-room", maze, 1, 0, 5, 1, false, 0L, List.of("alice", "bob")));
+		assertThat(restored.getReservedSeats()).isEqualTo(2);
+		assertThat(restored.tryReserveSeat(0)).isFalse();
+		assertThat(restored.tryClose()).isFalse();
+
+		restored.start();
+		try {
+			restored.submit(RoomCommand.RELEASE_SEAT);
+			await(() -> released.get() == 1);
+			assertThat(restored.getReservedSeats()).isEqualTo(1);
+		} finally {
+			restored.stop();
+		}
+	}
+
+	private void writeCheckpoint() throws Exception {
+		GameRoomManager savingManager = mock(GameRoomManager.class);
+		ConcurrentHashMap<String, GameRoom> rooms = new ConcurrentHashMap<>();
+		rooms.put(room.getRoomId(), room);
+		when(savingManager.getGameRooms()).thenReturn(rooms);
+		checkpoint(savingManager).checkpoint();
+	}
+
+	private RoomCheckpoint restoringCheckpoint() {
+		return checkpoint(restoringManager);
+	}
+
+	private RoomCheckpoint checkpoint(GameRoomManager gameRoomManager) {
+		MazePool mazePool = mock(MazePool.class);
+		when(mazePool.register(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		RoomCheckpoint checkpoint = new RoomCheckpoint(gameRoomManager, mazePool);
+		ReflectionTestUtils.setField(checkpoint, "enabled", true);
+		ReflectionTestUtils.setField(checkpoint, "path", directory.resolve("rooms.bin"));
+		ReflectionTestUtils.setField(checkpoint, "captureTimeoutMillis", 2000L);
+		ReflectionTestUtils.setField(checkpoint, "resumeTtlMillis", 60_000L);
+		return checkpoint;
+	}
+
+	private PlayerConnection connection(String id, String username) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		when(session.getPrincipal()).thenReturn(username != null ? principal(username) : null);
+		return new PlayerConnection(session, outboundPolicy);
+	}
+
+	private static Principal principal(String name) {
+		return () -> name;
+	}
+
+	// 액터가 앞선 명령을 모두 처리한 뒤의 상태
+	private RoomState capture() throws Exception {
+		CompletableFuture<RoomState> result = new CompletableFuture<>();
+		room.submit(new RoomCommand.Capture(result));
+		return result.get(5, TimeUnit.SECONDS);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				fail("조건이 5초 안에 충족되지 않았습니다");
+			}
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.onlineNunchi.escaperoom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private static final long NOW = 1_000;
+
+	// 가득 찬 상태로 시작해 burst 만큼만 연속으로 허용한다
+	@Test
+	void allowsBurstThenRejects() {
+		TokenBucket bucket = new TokenBucket(10, 3, NOW);
+
+		assertThat(bucket.tryAcquire(NOW)).isTrue();
+		assertThat(bucket.tryAcquire(NOW)).isTrue();
+		assertThat(bucket.tryAcquire(NOW)).isTrue();
+		assertThat(bucket.tryAcquire(NOW)).isFalse();
+	}
+
+	// 초당 10개면 100ms 마다 한 개가 보충되고, 거절된 호출은 그때까지 쌓인 보충분을 버리지 않는다
+	@Test
+	void refillsByElapsedMillis() {
+		TokenBucket bucket = drained(new TokenBucket(10, 3, NOW));
+
+		assertThat(bucket.tryAcquire(NOW + 50)).isFalse();
+		assertThat(bucket.tryAcquire(NOW + 99)).isFalse();
+		assertThat(bucket.tryAcquire(NOW + 100)).isTrue();
+		assertThat(bucket.tryAcquire(NOW + 100)).isFalse();
+		assertThat(bucket.tryAcquire(NOW + 200)).isTrue();
+	}
+
+	// 오래 쉬어도 burst 이상 쌓이지 않는다 (보충 계산이 넘치지 않는다)
+	@Test
+	void refillIsCappedAtBurst() {
+		TokenBucket bucket = drained(new TokenBucket(10, 3, NOW));
+
+		assertThat(acquireAll(bucket, NOW + 1_000_000_000L)).isEqualTo(3);
+	}
+
+	@Test
+	void burstIsClampedToCapacity() {
+		assertThat(acquireAll(new TokenBucket(1, 5_000, NOW), NOW)).isEqualTo(TokenBucket.MAX_CAPACITY);
+		assertThat(acquireAll(new TokenBucket(0, 0, NOW), NOW)).isEqualTo(1);
+	}
+
+	// 시계가 뒤로 가도 토큰이 생기지 않는다
+	@Test
+	void clockGoingBackwardsDoesNotRefill() {
+		TokenBucket bucket = drained(new TokenBucket(10, 3, NOW));
+
+		assertThat(bucket.tryAcquire(NOW - 500)).isFalse();
+		assertThat(bucket.tryAcquire(NOW + 100)).isTrue();
+	}
+
+	private static TokenBucket drained(TokenBucket bucket) {
+		acquireAll(bucket, NOW);
+		return bucket;
+	}
+
+	private static int acquireAll(TokenBucket bucket, long nowMillis) {
+		int acquired = 0;
+		while (bucket.tryAcquire(nowMillis)) {
+			acquired++;
+		}
+		return acquired;
+	}
+}
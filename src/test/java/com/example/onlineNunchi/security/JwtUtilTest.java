@@ -0,0 +1,76 @@
+package com.example.onlineNunchi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+
+class JwtUtilTest {
+
+	// exp 는 초 단위로 잘리므로 캐시 적중을 확인할 동안 만료되지 않도록 2초로 둔다
+	private static final long ACCESS_TOKEN_EXPIRATION_SECONDS = 2;
+
+	private JwtUtil jwtUtil;
+	private UserDetails userDetails;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil(mock(UserDetailsService.class));
+		ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-for-jwt-util-test-0123456789");
+		ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", ACCESS_TOKEN_EXPIRATION_SECONDS);
+		ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 60L);
+		ReflectionTestUtils.setField(jwtUtil, "cacheMaximumSize", 100L);
+		jwtUtil.init();
+		userDetails = User.withUsername("player").password("password").roles("USER").build();
+	}
+
+	// 같은 토큰은 다시 파싱하지 않고 캐시된 인스턴스를 돌려준다
+	@Test
+	void verifyReturnsCachedToken() {
+		String token = jwtUtil.generateAccessToken(userDetails, Map.of("nickname", "눈치왕"));
+
+		JwtUtil.VerifiedToken first = jwtUtil.verify(token);
+		JwtUtil.VerifiedToken second = jwtUtil.verify(token);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.username()).isEqualTo("player");
+		assertThat(first.claims()).containsEntry("nickname", "눈치왕");
+		assertThat(first.expiration()).isAfter(Instant.now());
+		assertThat(jwtUtil.validateToken(token, userDetails)).isTrue();
+	}
+
+	// 여러 요청이 공유하는 캐시 항목은 호출자가 바꿀 수 없다
+	@Test
+	void cachedClaimsCannotBeModified() {
+		String token = jwtUtil.generateAccessToken(userDetails, Map.of("nickname", "눈치왕"));
+		JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+
+		assertThatThrownBy(() -> verified.claims().put("nickname", "변조"))
+			.isInstanceOf(UnsupportedOperationException.class);
+
+		jwtUtil.extractClaim(token, claims -> claims.put("nickname", "변조"));
+		assertThat(jwtUtil.verify(token).claims()).containsEntry("nickname", "눈치왕");
+	}
+
+	// 캐시 항목은 토큰의 exp 에 함께 만료되므로 만료된 토큰은 다시 파싱되어 거부된다
+	@Test
+	void cachedTokenExpiresAtExp() throws InterruptedException {
+		String token = jwtUtil.generateAccessToken(userDetails, Map.of());
+		jwtUtil.verify(token);
+
+		Thread.sleep(ACCESS_TOKEN_EXPIRATION_SECONDS * 1000 + 100);
+
+		assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+	}
+}